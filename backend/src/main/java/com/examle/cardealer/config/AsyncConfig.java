@@ -21,4 +21,16 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /** Executor for CPU-bound validation of bulk input, one thread per processor. */
+    @Bean(name = "validationExecutor")
+    public Executor validationExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setThreadNamePrefix("Validation-");
+        executor.initialize();
+        return executor;
+    }
 }
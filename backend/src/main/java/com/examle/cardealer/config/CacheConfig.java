@@ -13,6 +13,11 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String DEALERS_BY_BRAND = "dealersByBrand";
+    public static final String PURGE_TASKS = "purgeTasks";
+    public static final String IDEMPOTENCY_KEYS = "idempotencyKeys";
+    public static final String ORDER_TICKETS = "orderTickets";
+
     /** Function to create manager that will hold all app cache.
      *
      * @return object of CacheManager
@@ -25,6 +30,26 @@ public class CacheConfig {
                         .maximumSize(100)
                         .expireAfterWrite(1, TimeUnit.HOURS)
                         .build());
+        cacheManager.registerCustomCache(PURGE_TASKS,
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterWrite(1, TimeUnit.HOURS)
+                        .build());
+        cacheManager.registerCustomCache(DEALERS_BY_BRAND,
+                Caffeine.newBuilder()
+                        .maximumSize(1000)
+                        .expireAfterWrite(30, TimeUnit.MINUTES)
+                        .build());
+        cacheManager.registerCustomCache(IDEMPOTENCY_KEYS,
+                Caffeine.newBuilder()
+                        .maximumSize(10_000)
+                        .expireAfterWrite(24, TimeUnit.HOURS)
+                        .build());
+        cacheManager.registerCustomCache(ORDER_TICKETS,
+                Caffeine.newBuilder()
+                        .maximumSize(10_000)
+                        .expireAfterWrite(1, TimeUnit.HOURS)
+                        .build());
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(20).expireAfterWrite(10, TimeUnit.MINUTES));
         return cacheManager;
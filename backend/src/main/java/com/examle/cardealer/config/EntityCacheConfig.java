@@ -0,0 +1,72 @@
+package com.example.cardealer.config;
+
+import com.example.cardealer.constants.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for cars, dealers, users and their associations.
+ * Regions live in a Caffeine-backed JCache manager, each with its own size and TTL.
+ * Writes through the session update the regions and bulk JPQL statements invalidate the
+ * regions of the touched entities. A native statement invalidates all regions unless it
+ * declares the tables it writes with {@code HibernateHints.HINT_NATIVE_SPACES}, so every
+ * native write of the application declares them. Orders and favorites change cars through
+ * the session for the same reason; bulk statements on cars are left to dealer and user
+ * deletes, which are rare.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    /** Function to create the JCache manager holding all entity regions.
+     *
+     * @return JCache manager with preconfigured regions
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        createRegion(cacheManager, CacheRegions.CARS, 10_000, 30);
+        createRegion(cacheManager, CacheRegions.DEALERS, 1_000, 60);
+        createRegion(cacheManager, CacheRegions.USERS, 5_000, 30);
+        createRegion(cacheManager, CacheRegions.DEALER_CARS, 1_000, 10);
+        createRegion(cacheManager, CacheRegions.USER_FAVORITE_CARS, 5_000, 10);
+        createRegion(cacheManager, CacheRegions.CAR_FAVORITED_BY, 10_000, 10);
+        return cacheManager;
+    }
+
+    /** Function to pass the cache manager and cache settings to Hibernate.
+     *
+     * @param entityCacheManager JCache manager with entity regions
+     * @return customizer of Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Evicts Dealer.cars when a car is saved or deleted through its owning side.
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, long ttlMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.cardealer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Class to enable periodic background jobs. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
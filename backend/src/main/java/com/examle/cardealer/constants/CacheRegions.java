@@ -0,0 +1,14 @@
+package com.example.cardealer.constants;
+
+/** Names of the Hibernate second-level cache regions. */
+public final class CacheRegions {
+
+    public static final String CARS = "cars";
+    public static final String DEALERS = "dealers";
+    public static final String USERS = "users";
+    public static final String DEALER_CARS = "dealer-cars";
+    public static final String USER_FAVORITE_CARS = "user-favorite-cars";
+    public static final String CAR_FAVORITED_BY = "car-favorited-by";
+
+    private CacheRegions() {} // No instances
+}
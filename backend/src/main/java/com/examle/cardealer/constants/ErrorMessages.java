@@ -48,5 +48,33 @@ public final class ErrorMessages {
     public static final String CAR_NOT_IN_FAVORITES = "Car is not in user's favorites";
     public static final String INVALID_EMAIL_FORMAT = "Invalid email format";
 
+    public static final String INVALID_SORT_KEY = "Unsupported sort key: ";
+    public static final String TASK_NOT_FOUND = "Task not found with id: ";
+    public static final String INVALID_FIELD = "Unsupported field: ";
+    public static final String INVALID_EXPANSION = "Unsupported expansion: ";
+    public static final String INVALID_CURSOR = "Invalid or expired page cursor";
+    public static final String INVALID_RANGE = "Minimum cannot be greater than maximum for: ";
+
+    public static final String INVALID_IMPORT_HEADER = "CSV import must start with header: ";
+    public static final String INVALID_IMPORT_ROW = "Malformed row: ";
+    public static final String DUPLICATE_VIN_IN_IMPORT = "VIN appears more than once in the upload: ";
+
+    public static final String BULK_UPDATE_DATA_NULL = "Bulk update data cannot be null";
+    public static final String BULK_UPDATE_NO_OPERATION = "Bulk update must change the price or the color";
+    public static final String INVALID_PRICE_FACTOR = "Price factor must be positive";
+    public static final String BULK_UPDATE_PRICE_NOT_POSITIVE = "Price of car with ID %d would not be positive";
+
+    public static final String CONCURRENT_MODIFICATION = "Resource was modified concurrently, reload and retry";
+    public static final String ETAG_MISMATCH = "Resource has changed since it was read, current ETag: ";
+
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be 1 to 255 characters long";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used with a different request";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "Request with this Idempotency-Key is still being processed";
+
+    public static final String SALES_REPORT_NO_RANGE = "Sales report needs both from and to dates";
+    public static final String SALES_REPORT_RANGE_TOO_LONG = "Sales report range cannot exceed %d days";
+
+    public static final String ORDER_QUEUE_FULL = "Order queue is full, retry later";
+
     private ErrorMessages() {} // No instances
 }
@@ -0,0 +1,64 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.QueryBenchmarkReportDto;
+import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.service.QueryBenchmarkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Class to handle benchmark requests. */
+@RestController
+@RequestMapping("/api/benchmarks")
+@Validated
+@Tag(name = "Benchmarks", description = "Latency and plan comparison of implementation variants")
+public class BenchmarkController {
+    private final QueryBenchmarkService queryBenchmarkService;
+
+    /** Constructor of the class. */
+    public BenchmarkController(QueryBenchmarkService queryBenchmarkService) {
+        this.queryBenchmarkService = queryBenchmarkService;
+    }
+
+    /** Function to compare the dealer-by-brand query variants.
+     *
+     * @return latency percentiles, plans and regressions per variant
+     */
+    @Operation(summary = "Benchmark dealer-by-brand queries",
+            description = "Runs the JPQL join, native join, EXISTS semi-join and brand key variants "
+                    + "on the current data and compares them with the stored baseline",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Benchmark finished"),
+                @ApiResponse(responseCode = "400", description = "Invalid brand or run parameters",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @PostMapping("/dealers-by-brand")
+    public ResponseEntity<QueryBenchmarkReportDto> benchmarkDealersByBrand(
+            @Parameter(description = "Vehicle brand to look up (2-50 characters)", required = true, example = "Toyota")
+            @RequestParam @NotBlank @Size(min = 2, max = 50) String brand,
+            @Parameter(description = "Measured runs per variant", example = "200")
+            @RequestParam(defaultValue = "200") @Min(1) @Max(5000) int iterations,
+            @Parameter(description = "Unmeasured warm-up runs per variant", example = "20")
+            @RequestParam(defaultValue = "20") @Min(0) @Max(500) int warmup,
+            @Parameter(description = "Allowed growth of the 90th percentile over the baseline", example = "0.2")
+            @RequestParam(defaultValue = "0.2") @DecimalMin("0.0") double tolerance,
+            @Parameter(description = "Store this run as the new baseline")
+            @RequestParam(defaultValue = "false") boolean resetBaseline) {
+        return ResponseEntity.ok(queryBenchmarkService.benchmarkDealersByBrand(
+                brand, iterations, warmup, tolerance, resetBaseline));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.CacheRegionStatsDto;
+import com.example.cardealer.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Class to handle cache monitoring requests. */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache monitoring", description = "Second-level entity cache statistics")
+public class CacheController {
+    private final CacheStatsService cacheStatsService;
+
+    /** Constructor of the class. */
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    /** Function to get hit ratios of the entity cache.
+     *
+     * @return statistics per cache region and in total
+     */
+    @Operation(summary = "Get cache statistics",
+            description = "Returns hits, misses and hit ratio of every entity cache region")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDto>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+}
@@ -1,19 +1,39 @@
 package com.example.cardealer.controller;
 
 import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.CarFilterDto;
+import com.example.cardealer.dto.CarImportReportDto;
+import com.example.cardealer.dto.CarSearchResultDto;
+import com.example.cardealer.dto.SuggestionDto;
+import com.example.cardealer.dto.VinDecodeDto;
 import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.service.CarExportService;
+import com.example.cardealer.service.CarImportService;
+import com.example.cardealer.service.CarSearchIndex;
 import com.example.cardealer.service.CarService;
+import com.example.cardealer.service.CarSuggestionIndex;
+import com.example.cardealer.service.IdempotencyStore;
+import com.example.cardealer.service.VinValidator;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,6 +43,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,26 +54,138 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Car Operations", description = "Endpoints for managing cars")
 public class CarController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CarService carService;
+    private final CarExportService carExportService;
+    private final CarSearchIndex carSearchIndex;
+    private final CarImportService carImportService;
+    private final VinValidator vinValidator;
+    private final CarSuggestionIndex carSuggestionIndex;
+    private final IdempotencyStore idempotencyStore;
 
-    public CarController(CarService carService) {
+    public CarController(CarService carService,
+                         CarExportService carExportService,
+                         CarSearchIndex carSearchIndex,
+                         CarImportService carImportService,
+                         VinValidator vinValidator,
+                         CarSuggestionIndex carSuggestionIndex,
+                         IdempotencyStore idempotencyStore) {
         this.carService = carService;
+        this.carExportService = carExportService;
+        this.carSearchIndex = carSearchIndex;
+        this.carImportService = carImportService;
+        this.vinValidator = vinValidator;
+        this.carSuggestionIndex = carSuggestionIndex;
+        this.idempotencyStore = idempotencyStore;
     }
 
-    @Operation(summary = "Get all cars", description = "Returns list of all available cars",
+    @Operation(summary = "Get all cars", description = "Returns one page of cars ordered by the sort key",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @GetMapping
-    public ResponseEntity<List<CarDto>> getAllCars() {
-        return ResponseEntity.ok(carService.getAllCars());
+    public ResponseEntity<List<CarDto>> getAllCars(
+            @Parameter(description = "Sort key: id, price, year or mileage", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit,
+            @Parameter(description = "ETag of the cached page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.page(carService.getAllCars(sort, direction, cursor, limit, ifNoneMatch));
+    }
+
+    @Operation(summary = "Export all cars",
+            description = "Streams the whole inventory as newline-delimited JSON, one car per line",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportCars(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        carExportService.exportCars(response.getOutputStream());
+    }
+
+    @Operation(summary = "Faceted car search",
+            description = "Filters cars by facet values and returns per-facet counts. "
+                    + "Values of one facet are OR-ed, different facets are AND-ed",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Search result with facet counts"),
+                @ApiResponse(responseCode = "400", description = "Invalid search parameters",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/search")
+    public ResponseEntity<CarSearchResultDto> searchCars(
+            @Parameter(description = "Brands", example = "Toyota")
+            @RequestParam(required = false) List<String> brand,
+            @Parameter(description = "Models", example = "Camry")
+            @RequestParam(required = false) List<String> model,
+            @Parameter(description = "Colors", example = "Red")
+            @RequestParam(required = false) List<String> color,
+            @Parameter(description = "Year buckets of 5 years", example = "2020-2024")
+            @RequestParam(required = false) List<String> year,
+            @Parameter(description = "Price buckets of 10000", example = "20000-29999")
+            @RequestParam(required = false) List<String> price,
+            @Parameter(description = "Mileage buckets of 25000", example = "0-24999")
+            @RequestParam(required = false) List<String> mileage,
+            @Parameter(description = "Maximum number of returned car IDs", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(200) int limit) {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put(CarSearchIndex.BRAND, brand);
+        filters.put(CarSearchIndex.MODEL, model);
+        filters.put(CarSearchIndex.COLOR, color);
+        filters.put(CarSearchIndex.YEAR, year);
+        filters.put(CarSearchIndex.PRICE, price);
+        filters.put(CarSearchIndex.MILEAGE, mileage);
+        return ResponseEntity.ok(carSearchIndex.search(filters, limit));
+    }
+
+    @Operation(summary = "Suggest brands and models",
+            description = "Returns the most stocked brands and models starting with the prefix",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Suggestions ordered by inventory count"),
+                @ApiResponse(responseCode = "400", description = "Invalid prefix or limit",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @Parameter(description = "Case-insensitive prefix", required = true, example = "to")
+            @RequestParam @Size(min = 1, max = 50) String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return ResponseEntity.ok(carSuggestionIndex.suggest(prefix, limit));
+    }
+
+    @Operation(summary = "Decode VIN",
+            description = "Validates a VIN, verifies its check digit and decodes the manufacturer",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "VIN decoded")
+            })
+    @GetMapping("/vin/{vin}")
+    public ResponseEntity<VinDecodeDto> decodeVin(
+            @Parameter(description = "VIN to decode", required = true, example = "1HGCM82633A004352")
+            @PathVariable String vin,
+            @Parameter(description = "Brand to cross-check with the manufacturer", example = "Honda")
+            @RequestParam(required = false) String brand) {
+        return ResponseEntity.ok(vinValidator.decode(vin, brand));
     }
 
     @Operation(summary = "Get car by ID", description = "Returns a single car by its ID",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Car found"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                 @ApiResponse(responseCode = "404", description = "Car not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "400", description = "Invalid ID supplied",
@@ -61,18 +194,36 @@ public class CarController {
     @GetMapping("/{id}")
     public ResponseEntity<CarDto> getCarById(
             @Parameter(description = "ID of the car to retrieve", required = true, example = "1")
-            @PathVariable @Min(1) Long id) {
-        return ResponseEntity.ok(carService.getCarById(id));
+            @PathVariable @Min(1) Long id,
+            @Parameter(description = "ETag of the cached car")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.ok(carService.getCarById(id, ifNoneMatch));
     }
 
     @PostMapping("/bulk")
     public ResponseEntity<List<CarDto>> createCarsBulk(
-            @RequestBody List<CarDto> carDtos) {
+            @RequestBody List<CarDto> carDtos,
+            @Parameter(description = "Key that makes retries of the request return the first response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        List<CarDto> createdRecipes = carService.createCarsBulk(carDtos);
+        List<CarDto> createdRecipes = idempotencyStore.execute("POST /api/cars/bulk", idempotencyKey, carDtos,
+                new TypeReference<List<CarDto>>() { }, () -> carService.createCarsBulk(carDtos));
         return ResponseEntity.status(201).body(createdRecipes);
     }
 
+    @Operation(summary = "Import cars from a feed",
+            description = "Streams a CSV (header vin,model,brand,year,price,color,mileage,dealerId) "
+                    + "or NDJSON upload, inserts valid rows in batches and reports rejected rows",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Import finished, see report for rejected rows"),
+                @ApiResponse(responseCode = "400", description = "Missing or invalid CSV header",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @PostMapping(value = "/import", consumes = {CarImportService.CSV, CarImportService.NDJSON})
+    public ResponseEntity<CarImportReportDto> importCars(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(carImportService.importCars(request.getInputStream(), request.getContentType()));
+    }
+
     @Operation(summary = "Create a new car", description = "Creates and returns the new car",
             responses = {
                 @ApiResponse(responseCode = "201", description = "Car created successfully"),
@@ -98,6 +249,8 @@ public class CarController {
                 @ApiResponse(responseCode = "400", description = "Invalid input or ID",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "409", description = "VIN conflict",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "412", description = "If-Match does not name the current ETag",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @PutMapping("/{id}")
@@ -105,8 +258,10 @@ public class CarController {
             @Parameter(description = "ID of the car to update", required = true, example = "1")
             @PathVariable @Min(1) Long id,
             @Parameter(description = "Updated car data", required = true)
-            @Valid @RequestBody CarDto carDto) {
-        return ResponseEntity.ok(carService.updateCar(id, carDto));
+            @Valid @RequestBody CarDto carDto,
+            @Parameter(description = "ETag the change is based on; the update fails with 412 if it is stale")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return TaggedResponses.ok(carService.updateCar(id, carDto, ifMatch));
     }
 
     @Operation(summary = "Delete a car", description = "Deletes a car by its ID",
@@ -125,23 +280,57 @@ public class CarController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Filter cars", description = "Filters cars by year range and max mileage",
+    @Operation(summary = "Filter cars",
+            description = "Filters cars by price, year and mileage ranges, brand, color and dealer; "
+                    + "the next page cursor is returned in the X-Next-Cursor header",
             responses = {
-                @ApiResponse(responseCode = "200", description = "Filtered list of cars"),
-                @ApiResponse(responseCode = "400", description = "Invalid filter parameters",
+                @ApiResponse(responseCode = "200", description = "One page of filtered cars"),
+                @ApiResponse(responseCode = "400", description = "Invalid filter parameters, sort key or cursor",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @GetMapping("/filter")
     public ResponseEntity<List<CarDto>> filterCars(
+            @Parameter(description = "Minimum price", example = "10000.0")
+            @RequestParam(required = false) @PositiveOrZero Double minPrice,
+
+            @Parameter(description = "Maximum price", example = "30000.0")
+            @RequestParam(required = false) @PositiveOrZero Double maxPrice,
+
             @Parameter(description = "Minimum manufacturing year", example = "2010")
             @RequestParam(required = false) @Min(1886) Integer minYear,
 
             @Parameter(description = "Maximum manufacturing year", example = "2023")
             @RequestParam(required = false) @Max(2025) Integer maxYear,
 
+            @Parameter(description = "Minimum mileage", example = "0.0")
+            @RequestParam(required = false) @PositiveOrZero Double minMileage,
+
             @Parameter(description = "Maximum mileage allowed", example = "50000.0")
-            @RequestParam(required = false) @PositiveOrZero Double maxMileage) {
-        return ResponseEntity.ok(carService.findCarsByYearAndMileage(minYear, maxYear, maxMileage));
+            @RequestParam(required = false) @PositiveOrZero Double maxMileage,
+
+            @Parameter(description = "Exact brand", example = "Toyota")
+            @RequestParam(required = false) String brand,
+
+            @Parameter(description = "Exact color", example = "Red")
+            @RequestParam(required = false) String color,
+
+            @Parameter(description = "Dealer ID", example = "1")
+            @RequestParam(required = false) @Min(1) Long dealerId,
+
+            @Parameter(description = "Sort key: id, price, year or mileage", example = "price")
+            @RequestParam(defaultValue = "id") @Pattern(regexp = "id|price|year|mileage") String sort,
+
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit) {
+        CarFilterDto filter = new CarFilterDto(minPrice, maxPrice, minYear, maxYear,
+                minMileage, maxMileage, brand, color, dealerId);
+        return CursorPageResponses.ok(carService.searchCars(filter, sort, direction, cursor, limit));
     }
 }
@@ -0,0 +1,29 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.CursorPage;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/** Builds list responses for keyset-paginated endpoints. */
+final class CursorPageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPageResponses() {} // No instances
+
+    /**
+     * Returns the page items as the body and the next cursor as a header,
+     * so clients that only read the body keep receiving a plain JSON array.
+     *
+     * @param page page to return
+     * @param <T> type of the page items
+     * @return response with the page items
+     */
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.cardealer.controller;
 
+import com.example.cardealer.dto.CarBulkUpdateDto;
+import com.example.cardealer.dto.CarBulkUpdateResultDto;
 import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.CarFilterDto;
 import com.example.cardealer.dto.DealerDto;
+import com.example.cardealer.dto.DealerInventorySummaryDto;
+import com.example.cardealer.dto.DealerStatsDto;
 import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.model.PurgeTask;
+import com.example.cardealer.service.DealerPurgeService;
 import com.example.cardealer.service.DealerService;
+import com.example.cardealer.service.DealerStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,17 +21,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -36,27 +48,52 @@ import org.springframework.web.bind.annotation.RestController;
 public class DealerController {
 
     private final DealerService dealerService;
+    private final DealerPurgeService dealerPurgeService;
+    private final DealerStatsService dealerStatsService;
 
-    public DealerController(DealerService dealerService) {
+    public DealerController(DealerService dealerService,
+                            DealerPurgeService dealerPurgeService,
+                            DealerStatsService dealerStatsService) {
         this.dealerService = dealerService;
+        this.dealerPurgeService = dealerPurgeService;
+        this.dealerStatsService = dealerStatsService;
     }
 
     @Operation(summary = "Get all dealers",
-            description = "Retrieves a list of all registered car dealerships",
+            description = "Retrieves one page of registered car dealerships",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successfully retrieved dealer list"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @GetMapping
-    public ResponseEntity<List<DealerDto>> getAllDealers() {
-        return ResponseEntity.ok(dealerService.getAllDealers());
+    public ResponseEntity<List<DealerDto>> getAllDealers(
+            @Parameter(description = "Sort key: id", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit,
+            @Parameter(description = "Comma-separated fields to return, all by default: name, address, phoneNumber, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "ETag of the cached page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.page(
+                dealerService.getAllDealers(sort, direction, cursor, limit, fields, expand, ifNoneMatch));
     }
 
     @Operation(summary = "Get dealer by ID",
             description = "Retrieves a specific dealer by their unique identifier",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Dealer found and returned"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                 @ApiResponse(responseCode = "400", description = "Invalid dealer ID format",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "404", description = "Dealer not found",
@@ -65,8 +102,14 @@ public class DealerController {
     @GetMapping("/{id}")
     public ResponseEntity<DealerDto> getDealerById(
             @Parameter(description = "Unique identifier of the dealer", required = true, example = "1")
-            @PathVariable @Min(1) Long id) {
-        return ResponseEntity.ok(dealerService.getDealerById(id));
+            @PathVariable @Min(1) Long id,
+            @Parameter(description = "Comma-separated fields to return, all by default: name, address, phoneNumber, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "ETag of the cached dealer")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.ok(dealerService.getDealerById(id, fields, expand, ifNoneMatch));
     }
 
     @Operation(summary = "Create new dealer",
@@ -95,6 +138,8 @@ public class DealerController {
                 @ApiResponse(responseCode = "404", description = "Dealer not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "409", description = "Unique constraint violation",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "412", description = "If-Match does not name the current ETag",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @PutMapping("/{id}")
@@ -102,8 +147,10 @@ public class DealerController {
             @Parameter(description = "Unique identifier of the dealer to update", required = true, example = "1")
             @PathVariable @Min(1) Long id,
             @Parameter(description = "Updated dealer data", required = true)
-            @Valid @RequestBody DealerDto dealerDto) {
-        return ResponseEntity.ok(dealerService.updateDealer(id, dealerDto));
+            @Valid @RequestBody DealerDto dealerDto,
+            @Parameter(description = "ETag the change is based on; the update fails with 412 if it is stale")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return TaggedResponses.ok(dealerService.updateDealer(id, dealerDto, ifMatch));
     }
 
     @Operation(summary = "Delete dealer",
@@ -123,11 +170,43 @@ public class DealerController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Delete dealer in the background",
+            description = "Starts deleting a dealer with all its cars in small chunks and returns the task ID; "
+                    + "the progress is available at /api/dealers/purges/{taskId}",
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Deletion started"),
+                @ApiResponse(responseCode = "400", description = "Invalid dealer ID format",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Dealer not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    public ResponseEntity<Long> deleteDealerAsync(
+            @Parameter(description = "Unique identifier of the dealer to delete", required = true, example = "1")
+            @PathVariable @Min(1) Long id) {
+        return ResponseEntity.accepted().body(dealerPurgeService.startPurge(id));
+    }
+
+    @Operation(summary = "Get dealer deletion status",
+            description = "Returns the status and progress of a background dealer deletion",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Task status returned"),
+                @ApiResponse(responseCode = "404", description = "Task not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/purges/{taskId}")
+    public ResponseEntity<PurgeTask> getPurgeStatus(
+            @Parameter(description = "ID of the deletion task", required = true, example = "1")
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(dealerPurgeService.getStatus(taskId));
+    }
+
     @Operation(summary = "Get dealer's cars",
-            description = "Retrieves all cars belonging to a specific dealer",
+            description = "Retrieves one page of the cars belonging to a specific dealer, "
+                    + "optionally filtered; the next page cursor is returned in the X-Next-Cursor header",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully retrieved dealer's cars"),
-                    @ApiResponse(responseCode = "400", description = "Invalid dealer ID format",
+                    @ApiResponse(responseCode = "400", description = "Invalid dealer ID, filter, sort key or cursor",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "404", description = "Dealer not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -135,8 +214,88 @@ public class DealerController {
     @GetMapping("/{dealerId}/cars")
     public ResponseEntity<List<CarDto>> getDealerCars(
             @Parameter(description = "ID of the dealer to retrieve cars for", required = true, example = "1")
+            @PathVariable @Min(1) Long dealerId,
+            @Parameter(description = "Exact brand", example = "Toyota")
+            @RequestParam(required = false) String brand,
+            @Parameter(description = "Exact color", example = "Red")
+            @RequestParam(required = false) String color,
+            @Parameter(description = "Minimum price", example = "10000.0")
+            @RequestParam(required = false) @PositiveOrZero Double minPrice,
+            @Parameter(description = "Maximum price", example = "30000.0")
+            @RequestParam(required = false) @PositiveOrZero Double maxPrice,
+            @Parameter(description = "Minimum manufacturing year", example = "2010")
+            @RequestParam(required = false) Integer minYear,
+            @Parameter(description = "Maximum manufacturing year", example = "2023")
+            @RequestParam(required = false) Integer maxYear,
+            @Parameter(description = "Minimum mileage", example = "0.0")
+            @RequestParam(required = false) @PositiveOrZero Double minMileage,
+            @Parameter(description = "Maximum mileage", example = "50000.0")
+            @RequestParam(required = false) @PositiveOrZero Double maxMileage,
+            @Parameter(description = "Sort key: id, price, year or mileage", example = "price")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit) {
+        CarFilterDto filter = new CarFilterDto(minPrice, maxPrice, minYear, maxYear,
+                minMileage, maxMileage, brand, color, dealerId);
+        return CursorPageResponses.ok(
+                dealerService.getDealerCars(dealerId, filter, sort, direction, cursor, limit));
+    }
+
+    @Operation(summary = "Summarize dealer's cars",
+            description = "With summary=true returns only the number of cars and min/avg/max price "
+                    + "per brand, computed by the database",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully summarized dealer's cars"),
+                    @ApiResponse(responseCode = "400", description = "Invalid dealer ID format",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Dealer not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping(value = "/{dealerId}/cars", params = "summary=true")
+    public ResponseEntity<DealerInventorySummaryDto> getDealerCarsSummary(
+            @Parameter(description = "ID of the dealer to summarize cars for", required = true, example = "1")
+            @PathVariable @Min(1) Long dealerId) {
+        return ResponseEntity.ok(dealerService.getDealerCarsSummary(dealerId));
+    }
+
+    @Operation(summary = "Get dealer's inventory statistics",
+            description = "Returns car count, ordered cars, total value, average price and average mileage "
+                    + "overall and per brand, read from statistics maintained on every car and order change",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved dealer's statistics"),
+                    @ApiResponse(responseCode = "400", description = "Invalid dealer ID format",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Dealer not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/{dealerId}/stats")
+    public ResponseEntity<DealerStatsDto> getDealerStats(
+            @Parameter(description = "ID of the dealer to retrieve statistics for", required = true, example = "1")
             @PathVariable @Min(1) Long dealerId) {
-        return ResponseEntity.ok(dealerService.getDealerCars(dealerId));
+        return ResponseEntity.ok(dealerStatsService.getDealerStats(dealerId));
+    }
+
+    @Operation(summary = "Bulk update dealer's cars",
+            description = "Changes price and/or color of all dealer's cars matching the filter "
+                    + "with a single update, e.g. all Toyota up to 2017: price factor 0.95",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cars updated successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter or operation",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "404", description = "Dealer not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @PatchMapping("/{dealerId}/cars")
+    public ResponseEntity<CarBulkUpdateResultDto> updateDealerCars(
+            @Parameter(description = "ID of the dealer whose cars are updated", required = true, example = "1")
+            @PathVariable @Min(1) Long dealerId,
+            @Parameter(description = "Filter and operation", required = true)
+            @Valid @RequestBody CarBulkUpdateDto update) {
+        return ResponseEntity.ok(dealerService.updateDealerCars(dealerId, update));
     }
 
     @Operation(summary = "Find dealers by brand",
@@ -151,8 +310,12 @@ public class DealerController {
             @Parameter(description = "Vehicle brand to search for (2-50 characters)",
                     required = true,
                     example = "Toyota")
-            @RequestParam @NotBlank @Size(min = 2, max = 50) String brand) {
-        return ResponseEntity.ok(dealerService.getDealersByBrand(brand));
+            @RequestParam @NotBlank @Size(min = 2, max = 50) String brand,
+            @Parameter(description = "Comma-separated fields to return, all by default: name, address, phoneNumber, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(dealerService.getDealersByBrand(brand, fields, expand));
     }
 
     @Operation(summary = "Find dealers by brand (native query)",
@@ -167,7 +330,11 @@ public class DealerController {
             @Parameter(description = "Vehicle brand to search for (2-50 characters)",
                     required = true,
                     example = "Toyota")
-            @RequestParam @NotBlank @Size(min = 2, max = 50) String brand) {
-        return ResponseEntity.ok(dealerService.getDealersByBrandNative(brand));
+            @RequestParam @NotBlank @Size(min = 2, max = 50) String brand,
+            @Parameter(description = "Comma-separated fields to return, all by default: name, address, phoneNumber, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(dealerService.getDealersByBrandNative(brand, fields, expand));
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.OrderContentionReportDto;
+import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.service.OrderContentionBenchmarkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Class to handle the order contention benchmark.
+ * The benchmark writes real dealers, cars, orders and outbox events, so the endpoint exists
+ * only with the {@value OrderContentionBenchmarkService#PROFILE} profile active.
+ */
+@RestController
+@RequestMapping("/api/benchmarks")
+@Validated
+@Profile(OrderContentionBenchmarkService.PROFILE)
+@Tag(name = "Benchmarks", description = "Latency and plan comparison of implementation variants")
+public class OrderContentionBenchmarkController {
+    private final OrderContentionBenchmarkService orderContentionBenchmarkService;
+
+    /** Constructor of the class. */
+    public OrderContentionBenchmarkController(OrderContentionBenchmarkService orderContentionBenchmarkService) {
+        this.orderContentionBenchmarkService = orderContentionBenchmarkService;
+    }
+
+    /** Function to compare the order claim strategies under contention.
+     *
+     * @return throughput, abort rate and latency percentiles per strategy
+     */
+    @Operation(summary = "Benchmark order claim strategies",
+            description = "Creates a scratch dealer with a few hot cars, drives concurrent checkouts of them "
+                    + "with the pessimistic and the optimistic strategy and deletes the scratch data afterwards",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Benchmark finished"),
+                @ApiResponse(responseCode = "400", description = "Invalid run parameters",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @PostMapping("/order-contention")
+    public ResponseEntity<OrderContentionReportDto> benchmarkOrderContention(
+            @Parameter(description = "Number of cars all checkouts compete for", example = "5")
+            @RequestParam(defaultValue = "5") @Min(1) @Max(50) int hotCars,
+            @Parameter(description = "Concurrent client threads", example = "16")
+            @RequestParam(defaultValue = "16") @Min(1) @Max(64) int threads,
+            @Parameter(description = "Checkout attempts per thread and strategy", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int checkoutsPerThread) {
+        return ResponseEntity.ok(orderContentionBenchmarkService.benchmark(hotCars, threads, checkoutsPerThread));
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.cardealer.controller;
 
 import com.example.cardealer.dto.OrderDto;
+import com.example.cardealer.dto.OrderFilterDto;
 import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.model.OrderTicket;
+import com.example.cardealer.service.IdempotencyStore;
+import com.example.cardealer.service.OrderCheckoutService;
+import com.example.cardealer.service.OrderIntakeService;
 import com.example.cardealer.service.OrderService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,7 +17,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -21,7 +30,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -33,27 +44,99 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderCheckoutService orderCheckoutService;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderIntakeService orderIntakeService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderCheckoutService orderCheckoutService,
+                           IdempotencyStore idempotencyStore, OrderIntakeService orderIntakeService) {
         this.orderService = orderService;
+        this.orderCheckoutService = orderCheckoutService;
+        this.idempotencyStore = idempotencyStore;
+        this.orderIntakeService = orderIntakeService;
     }
 
     @Operation(summary = "Get all orders",
-            description = "Retrieves a list of all vehicle orders in the system",
+            description = "Retrieves one page of vehicle orders in the system",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successfully retrieved order list"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @GetMapping
-    public ResponseEntity<List<OrderDto>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<List<OrderDto>> getAllOrders(
+            @Parameter(description = "Sort key: id, orderDate or totalPrice", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit,
+            @Parameter(description = "Comma-separated fields to return, all by default: orderDate, totalPrice, userId, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "ETag of the cached page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.page(
+                orderService.getAllOrders(sort, direction, cursor, limit, fields, expand, ifNoneMatch));
+    }
+
+    @Operation(summary = "Search orders",
+            description = "Retrieves one page of the orders matching all supplied filters",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Successfully retrieved matching orders"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
+                @ApiResponse(responseCode = "400", description = "Invalid filter, sort key or cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderDto>> searchOrders(
+            @Parameter(description = "ID of the user who placed the orders", example = "1")
+            @RequestParam(required = false) @Min(1) Long userId,
+            @Parameter(description = "First order day, inclusive", example = "2024-03-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @Parameter(description = "Last order day, inclusive", example = "2024-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @Parameter(description = "Minimum total price", example = "10000")
+            @RequestParam(required = false) Double minTotalPrice,
+            @Parameter(description = "Maximum total price", example = "50000")
+            @RequestParam(required = false) Double maxTotalPrice,
+            @Parameter(description = "ID of a car the orders contain", example = "1")
+            @RequestParam(required = false) @Min(1) Long carId,
+            @Parameter(description = "ID of a dealer whose cars the orders contain", example = "1")
+            @RequestParam(required = false) @Min(1) Long dealerId,
+            @Parameter(description = "Sort key: id, orderDate or totalPrice", example = "orderDate")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit,
+            @Parameter(description = "Comma-separated fields to return, all by default: orderDate, totalPrice, userId, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "ETag of the cached page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        OrderFilterDto filter = new OrderFilterDto(userId, fromDate, toDate, minTotalPrice, maxTotalPrice,
+                carId, dealerId);
+        return TaggedResponses.page(
+                orderService.searchOrders(filter, sort, direction, cursor, limit, fields, expand, ifNoneMatch));
     }
 
     @Operation(summary = "Get order by ID",
             description = "Retrieves a specific vehicle order by its unique identifier",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Order found and returned"),
+                @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match"),
                 @ApiResponse(responseCode = "400", description = "Invalid order ID format",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "404", description = "Order not found",
@@ -62,8 +145,14 @@ public class OrderController {
     @GetMapping("/{id}")
     public ResponseEntity<OrderDto> getOrderById(
             @Parameter(description = "Unique identifier of the order", required = true, example = "1")
-            @PathVariable @Min(1) Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+            @PathVariable @Min(1) Long id,
+            @Parameter(description = "Comma-separated fields to return, all by default: orderDate, totalPrice, userId, carCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: cars")
+            @RequestParam(required = false) String expand,
+            @Parameter(description = "ETag of the cached order")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return TaggedResponses.ok(orderService.getOrderById(id, fields, expand, ifNoneMatch));
     }
 
     @Operation(summary = "Create new order",
@@ -72,18 +161,59 @@ public class OrderController {
                 @ApiResponse(responseCode = "201", description = "Order created successfully"),
                 @ApiResponse(responseCode = "400", description = "Invalid order data",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-                @ApiResponse(responseCode = "409", description = "One or more cars already ordered",
+                @ApiResponse(responseCode = "409",
+                            description = "One or more cars already ordered, or the idempotency key is in use",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @PostMapping
     public ResponseEntity<OrderDto> createOrder(
             @Parameter(description = "Order data including car IDs and user ID", required = true)
-            @Valid @RequestBody OrderDto orderDto) {
-        OrderDto createdOrder = orderService.createOrder(orderDto);
+            @Valid @RequestBody OrderDto orderDto,
+            @Parameter(description = "Key that makes retries of the request return the first response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        OrderDto createdOrder = idempotencyStore.execute("POST /api/orders", idempotencyKey, orderDto,
+                new TypeReference<OrderDto>() { }, () -> orderCheckoutService.createOrder(orderDto));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    @Operation(summary = "Create new order in the background",
+            description = "Queues a new vehicle order and returns the ticket ID; "
+                    + "the result is available at /api/orders/tickets/{ticketId}",
+            responses = {
+                @ApiResponse(responseCode = "202", description = "Order queued"),
+                @ApiResponse(responseCode = "400", description = "Invalid order data",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "409", description = "The idempotency key is in use",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "503", description = "Order queue is full",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @PostMapping(params = "async=true")
+    public ResponseEntity<Long> createOrderAsync(
+            @Parameter(description = "Order data including car IDs and user ID", required = true)
+            @Valid @RequestBody OrderDto orderDto,
+            @Parameter(description = "Key that makes retries of the request return the first ticket")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Long ticketId = idempotencyStore.execute("POST /api/orders?async=true", idempotencyKey, orderDto,
+                new TypeReference<Long>() { }, () -> orderIntakeService.enqueue(orderDto));
+        return ResponseEntity.accepted().body(ticketId);
+    }
+
+    @Operation(summary = "Get background order status",
+            description = "Returns the status of a queued order and the ID of the created order",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Ticket status returned"),
+                @ApiResponse(responseCode = "404", description = "Ticket not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<OrderTicket> getOrderTicket(
+            @Parameter(description = "ID of the order ticket", required = true, example = "1")
+            @PathVariable Long ticketId) {
+        return ResponseEntity.ok(orderIntakeService.getStatus(ticketId));
+    }
+
     @Operation(summary = "Update existing order",
             description = "Updates information for an existing vehicle order",
             responses = {
@@ -93,6 +223,8 @@ public class OrderController {
                 @ApiResponse(responseCode = "404", description = "Order not found",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "409", description = "Car already in another order",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "412", description = "If-Match does not name the current ETag",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @PutMapping("/{id}")
@@ -100,8 +232,10 @@ public class OrderController {
             @Parameter(description = "Unique identifier of the order to update", required = true, example = "1")
             @PathVariable @Min(1) Long id,
             @Parameter(description = "Updated order data including car IDs", required = true)
-            @Valid @RequestBody OrderDto orderDto) {
-        return ResponseEntity.ok(orderService.updateOrder(id, orderDto));
+            @Valid @RequestBody OrderDto orderDto,
+            @Parameter(description = "ETag the change is based on; the update fails with 412 if it is stale")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return TaggedResponses.ok(orderCheckoutService.updateOrder(id, orderDto, ifMatch));
     }
 
     @Operation(summary = "Delete order",
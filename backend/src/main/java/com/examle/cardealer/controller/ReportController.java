@@ -0,0 +1,60 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.SalesReportDto;
+import com.example.cardealer.exception.ErrorResponse;
+import com.example.cardealer.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Class to handle report requests. */
+@RestController
+@RequestMapping("/api/reports")
+@Validated
+@Tag(name = "Reports", description = "Sales reports read from maintained rollups")
+public class ReportController {
+    private final SalesRollupService salesRollupService;
+
+    /** Constructor of the class. */
+    public ReportController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /** Function to get the sales of a date range.
+     *
+     * @return totals and sales per day, dealer and brand
+     */
+    @Operation(summary = "Get sales by day, dealer and brand",
+            description = "Returns order count, cars sold and revenue per day, dealer and brand of the range, "
+                    + "read from rollups maintained on every order change",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Successfully retrieved sales"),
+                @ApiResponse(responseCode = "400", description = "Missing, reversed or too long date range",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Dealer not found",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReportDto> getSales(
+            @Parameter(description = "First day, inclusive", required = true, example = "2024-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive; the range spans at most 366 days", required = true,
+                    example = "2024-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Limit the report to one dealer", example = "1")
+            @RequestParam(required = false) @Min(1) Long dealerId) {
+        return ResponseEntity.ok(salesRollupService.getSalesReport(from, to, dealerId));
+    }
+}
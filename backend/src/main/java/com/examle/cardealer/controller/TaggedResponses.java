@@ -0,0 +1,42 @@
+package com.example.cardealer.controller;
+
+import com.example.cardealer.dto.CursorPage;
+import com.example.cardealer.dto.Tagged;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Builds responses carrying an ETag header. */
+final class TaggedResponses {
+
+    private TaggedResponses() {} // No instances
+
+    /**
+     * Returns the body with its tag, or an empty {@code 304 Not Modified}.
+     *
+     * @param tagged body and tag
+     * @param <T> type of the body
+     * @return response with the ETag header
+     */
+    static <T> ResponseEntity<T> ok(Tagged<T> tagged) {
+        if (tagged.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tagged.getEtag()).build();
+        }
+        return ResponseEntity.ok().eTag(tagged.getEtag()).body(tagged.getBody());
+    }
+
+    /**
+     * Returns a cursor page with its tag, or an empty {@code 304 Not Modified}.
+     *
+     * @param tagged page and tag
+     * @param <T> type of the page items
+     * @return response with the ETag and next cursor headers
+     */
+    static <T> ResponseEntity<List<T>> page(Tagged<CursorPage<T>> tagged) {
+        if (tagged.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tagged.getEtag()).build();
+        }
+        ResponseEntity<List<T>> page = CursorPageResponses.ok(tagged.getBody());
+        return ResponseEntity.ok().headers(page.getHeaders()).eTag(tagged.getEtag()).body(page.getBody());
+    }
+}
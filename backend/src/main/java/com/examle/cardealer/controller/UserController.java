@@ -1,5 +1,6 @@
 package com.example.cardealer.controller;
 
+import com.example.cardealer.dto.CursorPage;
 import com.example.cardealer.dto.UserDto;
 import com.example.cardealer.exception.ErrorResponse;
 import com.example.cardealer.service.UserService;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
@@ -38,15 +40,30 @@ public class UserController {
     }
 
     @Operation(summary = "Get all users",
-            description = "Retrieves a list of all registered users in the system",
+            description = "Retrieves one page of registered users in the system",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Successfully retrieved user list"),
+                @ApiResponse(responseCode = "400", description = "Invalid sort key or cursor",
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                 @ApiResponse(responseCode = "500", description = "Internal server error",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<UserDto>> getAllUsers(
+            @Parameter(description = "Sort key: id", example = "id")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Sort direction: asc or desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at 200", example = "50")
+            @RequestParam(required = false) @Min(1) Integer limit,
+            @Parameter(description = "Comma-separated fields to return, all by default: username, favoriteCarCount, orderCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: favoriteCars, orders")
+            @RequestParam(required = false) String expand) {
+        CursorPage<UserDto> page = userService.getAllUsers(sort, direction, cursor, limit, fields, expand);
+        return CursorPageResponses.ok(page);
     }
 
     @Operation(summary = "Get user by ID",
@@ -61,8 +78,12 @@ public class UserController {
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(
             @Parameter(description = "Unique identifier of the user", required = true, example = "1")
-            @PathVariable @Min(1) Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+            @PathVariable @Min(1) Long id,
+            @Parameter(description = "Comma-separated fields to return, all by default: username, favoriteCarCount, orderCount")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Nested collections to return: favoriteCars, orders")
+            @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(userService.getUserById(id, fields, expand));
     }
 
     @Operation(summary = "Create new user",
@@ -0,0 +1,33 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the stock and prices of one brand.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Number of cars and price statistics of one brand")
+public class BrandPriceSummaryDto {
+
+    @Schema(description = "Car brand", example = "Toyota")
+    private String brand;
+
+    @Schema(description = "Number of cars of the brand", example = "42")
+    private long carCount;
+
+    @Schema(description = "Lowest price", example = "15000.0")
+    private double minPrice;
+
+    @Schema(description = "Average price", example = "27350.5")
+    private double avgPrice;
+
+    @Schema(description = "Highest price", example = "64000.0")
+    private double maxPrice;
+}
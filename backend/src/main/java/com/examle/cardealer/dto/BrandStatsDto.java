@@ -0,0 +1,36 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the inventory statistics of one brand of a dealer.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Inventory statistics of one brand of a dealer")
+public class BrandStatsDto {
+
+    @Schema(description = "Car brand", example = "Toyota")
+    private String brand;
+
+    @Schema(description = "Number of cars of the brand", example = "42")
+    private long carCount;
+
+    @Schema(description = "Number of cars of the brand that belong to an order", example = "7")
+    private long orderedCount;
+
+    @Schema(description = "Sum of the prices", example = "1148721.0")
+    private double totalValue;
+
+    @Schema(description = "Average price", example = "27350.5")
+    private double avgPrice;
+
+    @Schema(description = "Average mileage", example = "48210.0")
+    private double avgMileage;
+}
@@ -0,0 +1,36 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing second-level cache statistics of one region.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Second-level cache statistics of one region")
+public class CacheRegionStatsDto {
+
+    @Schema(description = "Region name", example = "cars")
+    private String region;
+
+    @Schema(description = "Lookups answered from the cache", example = "950")
+    private long hits;
+
+    @Schema(description = "Lookups that went to the database", example = "50")
+    private long misses;
+
+    @Schema(description = "Entries put into the cache", example = "50")
+    private long puts;
+
+    @Schema(description = "Entries currently held in memory", example = "50")
+    private long size;
+
+    @Schema(description = "Share of lookups answered from the cache", example = "0.95")
+    private double hitRatio;
+}
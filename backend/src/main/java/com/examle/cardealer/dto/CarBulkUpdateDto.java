@@ -0,0 +1,52 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for a bulk change of a dealer's cars.
+ * Filter fields select the cars (absent fields do not restrict the selection),
+ * operation fields describe the change applied to every selected car.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Filter and operation of a bulk car update")
+public class CarBulkUpdateDto {
+
+    @Schema(description = "Only cars of this brand", example = "Toyota")
+    private String brand;
+
+    @Schema(description = "Only cars of this model", example = "Camry")
+    private String model;
+
+    @Schema(description = "Only cars of this color", example = "Red")
+    private String color;
+
+    @Schema(description = "Only cars manufactured in or after this year", example = "2010")
+    private Integer minYear;
+
+    @Schema(description = "Only cars manufactured in or before this year", example = "2017")
+    private Integer maxYear;
+
+    @Schema(description = "Only cars priced at least this much", example = "10000")
+    private Double minPrice;
+
+    @Schema(description = "Only cars priced at most this much", example = "50000")
+    private Double maxPrice;
+
+    @Positive(message = "Price factor must be positive")
+    @Schema(description = "Multiply the price by this factor", example = "0.95")
+    private Double priceFactor;
+
+    @Schema(description = "Add this amount to the price (after the factor)", example = "-500")
+    private Double priceDelta;
+
+    @Schema(description = "Repaint the cars in this color", example = "Black")
+    private String newColor;
+}
@@ -0,0 +1,21 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of a bulk car update.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Outcome of a bulk car update")
+public class CarBulkUpdateResultDto {
+
+    @Schema(description = "Number of updated cars", example = "12")
+    private int updated;
+}
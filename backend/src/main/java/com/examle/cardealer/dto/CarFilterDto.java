@@ -0,0 +1,28 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for car search filters.
+ * Every field is optional; absent fields do not restrict the search.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Optional filters of a car search")
+public class CarFilterDto {
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minYear;
+    private Integer maxYear;
+    private Double minMileage;
+    private Double maxMileage;
+    private String brand;
+    private String color;
+    private Long dealerId;
+}
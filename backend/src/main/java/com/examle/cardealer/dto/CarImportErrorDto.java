@@ -0,0 +1,27 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing a rejected row of a car import.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Rejected row of a car import")
+public class CarImportErrorDto {
+
+    @Schema(description = "Line number in the uploaded file, starting from 1", example = "42")
+    private long line;
+
+    @Schema(description = "VIN of the rejected row, if it could be read", example = "1HGCM82633A123456")
+    private String vin;
+
+    @Schema(description = "Reason the row was rejected", example = "Car already exists with VIN: 1HGCM82633A123456")
+    private String message;
+}
@@ -0,0 +1,32 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of a car import.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Outcome of a streaming car import")
+public class CarImportReportDto {
+
+    @Schema(description = "Number of data rows read", example = "50000")
+    private long totalRows;
+
+    @Schema(description = "Number of cars inserted", example = "49990")
+    private long imported;
+
+    @Schema(description = "Number of rejected rows", example = "10")
+    private long rejected;
+
+    @Schema(description = "Rejected rows with reasons, truncated to the first 1000")
+    private List<CarImportErrorDto> errors = new ArrayList<>();
+}
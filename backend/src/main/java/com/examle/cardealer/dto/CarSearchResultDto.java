@@ -0,0 +1,29 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing a faceted car search result.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Result of a faceted car search")
+public class CarSearchResultDto {
+
+    @Schema(description = "Total number of matching cars", example = "42")
+    private int total;
+
+    @Schema(description = "IDs of the first matching cars in ascending index order")
+    private List<Long> carIds;
+
+    @Schema(description = "Number of matching cars per facet value")
+    private Map<String, Map<String, Integer>> facets;
+}
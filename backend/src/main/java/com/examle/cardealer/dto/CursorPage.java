@@ -0,0 +1,43 @@
+package com.example.cardealer.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> type of the page items
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+
+    /** Opaque cursor of the next page, {@code null} when this is the last page. */
+    private final String nextCursor;
+
+    /**
+     * Converts the page items keeping the cursor.
+     *
+     * @param mapper item converter
+     * @param <R> type of the converted items
+     * @return page with converted items
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Converts all page items at once keeping the cursor.
+     *
+     * @param mapper converter of the whole item list
+     * @param <R> type of the converted items
+     * @return page with converted items
+     */
+    public <R> CursorPage<R> mapAll(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), nextCursor);
+    }
+}
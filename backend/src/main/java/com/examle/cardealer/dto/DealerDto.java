@@ -47,6 +47,9 @@ public class DealerDto {
     @Schema(description = "Contact phone number", example = "+1 (800) 555-0199")
     private String phoneNumber;
 
-    @Schema(description = "List of cars available at this dealership")
+    @Schema(description = "Number of cars available at this dealership", example = "120")
+    private Long carCount;
+
+    @Schema(description = "List of cars available at this dealership, returned with expand=cars")
     private List<CarDto> cars;
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the aggregated inventory of a dealer.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Car counts and prices of a dealer, without the cars themselves")
+public class DealerInventorySummaryDto {
+
+    @Schema(description = "Dealer ID", example = "1")
+    private Long dealerId;
+
+    @Schema(description = "Total number of cars", example = "1250")
+    private long carCount;
+
+    @Schema(description = "Lowest price over all brands, null without cars", example = "9500.0")
+    private Double minPrice;
+
+    @Schema(description = "Average price over all brands, null without cars", example = "31200.0")
+    private Double avgPrice;
+
+    @Schema(description = "Highest price over all brands, null without cars", example = "120000.0")
+    private Double maxPrice;
+
+    @Schema(description = "Per-brand statistics ordered by brand")
+    private List<BrandPriceSummaryDto> brands;
+}
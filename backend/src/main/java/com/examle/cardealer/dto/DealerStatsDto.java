@@ -0,0 +1,40 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the maintained inventory statistics of a dealer.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Inventory statistics of a dealer, kept up to date by every car and order change")
+public class DealerStatsDto {
+
+    @Schema(description = "Dealer ID", example = "1")
+    private Long dealerId;
+
+    @Schema(description = "Total number of cars", example = "1250")
+    private long carCount;
+
+    @Schema(description = "Number of cars that belong to an order", example = "140")
+    private long orderedCount;
+
+    @Schema(description = "Sum of the prices of all cars", example = "39000000.0")
+    private double totalValue;
+
+    @Schema(description = "Average price, null without cars", example = "31200.0")
+    private Double avgPrice;
+
+    @Schema(description = "Average mileage, null without cars", example = "52000.0")
+    private Double avgMileage;
+
+    @Schema(description = "Per-brand statistics ordered by brand")
+    private List<BrandStatsDto> brands;
+}
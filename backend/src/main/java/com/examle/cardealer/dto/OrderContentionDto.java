@@ -0,0 +1,48 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the contention benchmark result of one claim strategy.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Throughput, aborts and latency of concurrent checkouts with one claim strategy")
+public class OrderContentionDto {
+
+    @Schema(description = "Claim strategy", example = "OPTIMISTIC")
+    private String strategy;
+
+    @Schema(description = "Checkout attempts", example = "800")
+    private long attempts;
+
+    @Schema(description = "Checkouts that created an order", example = "610")
+    private long succeeded;
+
+    @Schema(description = "Checkouts rejected with a conflict", example = "190")
+    private long aborted;
+
+    @Schema(description = "Transactions rerun after a failed version check", example = "240")
+    private long retries;
+
+    @Schema(description = "Share of attempts rejected with a conflict", example = "0.2375")
+    private double abortRate;
+
+    @Schema(description = "Created orders per second", example = "410.5")
+    private double throughputPerSecond;
+
+    @Schema(description = "Median checkout latency in milliseconds", example = "12.4")
+    private double p50Ms;
+
+    @Schema(description = "99th percentile checkout latency in milliseconds", example = "95.1")
+    private double p99Ms;
+
+    @Schema(description = "Slowest checkout in milliseconds", example = "180.0")
+    private double maxMs;
+}
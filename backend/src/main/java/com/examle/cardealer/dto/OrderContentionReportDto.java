@@ -0,0 +1,34 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for a run of the order contention benchmark.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Concurrent checkouts of a small set of hot cars with every claim strategy")
+public class OrderContentionReportDto {
+
+    @Schema(description = "Number of cars all checkouts compete for", example = "5")
+    private int hotCars;
+
+    @Schema(description = "Concurrent client threads", example = "16")
+    private int threads;
+
+    @Schema(description = "Checkout attempts per thread and strategy", example = "50")
+    private int checkoutsPerThread;
+
+    @Schema(description = "Strategy with the highest throughput", example = "PESSIMISTIC")
+    private String fastest;
+
+    @Schema(description = "Results per strategy")
+    private List<OrderContentionDto> results;
+}
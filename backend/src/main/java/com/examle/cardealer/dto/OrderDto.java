@@ -1,6 +1,7 @@
 package com.example.cardealer.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
@@ -22,6 +23,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Setter
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Data Transfer Object for order representation")
 public class OrderDto {
 
@@ -40,15 +42,18 @@ public class OrderDto {
     @Positive(message = "Total price must be positive")
     @Digits(integer = 10, fraction = 2, message = "Total price must have up to 10 integer and 2 decimal digits")
     @Schema(description = "Total price of the order", example = "45000.50")
-    private double totalPrice;
+    private Double totalPrice;
 
     @NotNull(message = "User ID cannot be null")
     @Positive(message = "User ID must be positive")
     @Schema(description = "ID of the user who placed the order", example = "5")
     private Long userId;
 
+    @Schema(description = "Number of cars in the order", example = "2")
+    private Long carCount;
+
     @NotEmpty(message = "Car IDs list cannot be empty")
     @Size(min = 1, max = 10, message = "Order must contain between 1 and 10 cars")
-    @Schema(description = "List of car IDs included in the order")
+    @Schema(description = "List of car IDs included in the order, returned with expand=cars")
     private List<@Positive(message = "Car ID must be positive") Long> carIds;
 }
\ No newline at end of file
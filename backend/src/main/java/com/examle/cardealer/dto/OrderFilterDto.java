@@ -0,0 +1,27 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for order search filters.
+ * Every field is optional; absent fields do not restrict the search.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Optional filters of an order search")
+public class OrderFilterDto {
+    private Long userId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Double minTotalPrice;
+    private Double maxTotalPrice;
+    private Long carId;
+    private Long dealerId;
+}
@@ -0,0 +1,49 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the measurements of one query variant.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Latency percentiles and execution plan of one query variant")
+public class QueryBenchmarkDto {
+
+    @Schema(description = "Query variant", example = "EXISTS_SEMI_JOIN")
+    private String variant;
+
+    @Schema(description = "Measured SQL; the JPQL variant shows its SQL equivalent")
+    private String sql;
+
+    @Schema(description = "Number of dealers returned", example = "12")
+    private int rows;
+
+    @Schema(description = "Median latency in milliseconds", example = "1.8")
+    private double p50Ms;
+
+    @Schema(description = "90th percentile latency in milliseconds", example = "2.4")
+    private double p90Ms;
+
+    @Schema(description = "99th percentile latency in milliseconds", example = "3.9")
+    private double p99Ms;
+
+    @Schema(description = "Slowest run in milliseconds", example = "5.2")
+    private double maxMs;
+
+    @Schema(description = "90th percentile of the baseline run, null without baseline", example = "2.2")
+    private Double baselineP90Ms;
+
+    @Schema(description = "Whether the 90th percentile exceeds the baseline by more than the tolerance")
+    private boolean regression;
+
+    @Schema(description = "Execution plan reported by the database")
+    private List<String> plan;
+}
@@ -0,0 +1,46 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for a benchmark run of the dealer-by-brand query variants.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Comparison of the dealer-by-brand query variants on the current data")
+public class QueryBenchmarkReportDto {
+
+    @Schema(description = "Benchmarked brand", example = "Toyota")
+    private String brand;
+
+    @Schema(description = "Number of dealers in the database", example = "500")
+    private long dealerCount;
+
+    @Schema(description = "Number of cars in the database", example = "250000")
+    private long carCount;
+
+    @Schema(description = "Measured runs per variant", example = "200")
+    private int iterations;
+
+    @Schema(description = "Unmeasured warm-up runs per variant", example = "20")
+    private int warmup;
+
+    @Schema(description = "Allowed growth of the 90th percentile over the baseline", example = "0.2")
+    private double tolerance;
+
+    @Schema(description = "Variant with the lowest 90th percentile", example = "BRAND_KEY_INDEX")
+    private String fastest;
+
+    @Schema(description = "Variants that regressed against the baseline")
+    private List<String> regressions;
+
+    @Schema(description = "Measurements per variant")
+    private List<QueryBenchmarkDto> variants;
+}
@@ -0,0 +1,38 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the sales of a date range.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Sales of a date range, read from rollups kept up to date by every order change")
+public class SalesReportDto {
+
+    @Schema(description = "First day of the range", example = "2024-03-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range", example = "2024-03-31")
+    private LocalDate to;
+
+    @Schema(description = "Dealer the report is limited to, null for all dealers", example = "1")
+    private Long dealerId;
+
+    @Schema(description = "Number of ordered cars in the range", example = "57")
+    private long carsSold;
+
+    @Schema(description = "Sum of the prices of the ordered cars in the range", example = "1710000.0")
+    private double revenue;
+
+    @Schema(description = "Sales per day, dealer and brand, ordered by day, dealer and brand")
+    private List<SalesRollupDto> rows;
+}
@@ -0,0 +1,37 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for the sales of one day, dealer and brand.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Sales of one day, dealer and brand")
+public class SalesRollupDto {
+
+    @Schema(description = "Order date in the dealership time zone", example = "2024-03-15")
+    private LocalDate date;
+
+    @Schema(description = "Dealer ID", example = "1")
+    private Long dealerId;
+
+    @Schema(description = "Car brand", example = "Toyota")
+    private String brand;
+
+    @Schema(description = "Number of orders with cars of the dealer and brand", example = "3")
+    private long orderCount;
+
+    @Schema(description = "Number of ordered cars", example = "4")
+    private long carsSold;
+
+    @Schema(description = "Sum of the prices of the ordered cars", example = "112000.0")
+    private double revenue;
+}
@@ -0,0 +1,27 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing a typeahead suggestion.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Typeahead suggestion for brand or model")
+public class SuggestionDto {
+
+    @Schema(description = "Suggested value", example = "Toyota")
+    private String value;
+
+    @Schema(description = "Kind of the value: brand or model", example = "brand")
+    private String type;
+
+    @Schema(description = "Number of cars in stock with this value", example = "120")
+    private long count;
+}
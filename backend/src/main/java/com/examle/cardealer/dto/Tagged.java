@@ -0,0 +1,34 @@
+package com.example.cardealer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Response body together with its entity tag.
+ *
+ * @param <T> type of the body
+ */
+@Getter
+@AllArgsConstructor
+public class Tagged<T> {
+
+    private final String etag;
+
+    /** Response body, {@code null} when the client copy is still current. */
+    private final T body;
+
+    /**
+     * Creates a result telling that the client copy is still current.
+     *
+     * @param etag current tag
+     * @param <T> type of the body
+     * @return tag without body
+     */
+    public static <T> Tagged<T> notModified(String etag) {
+        return new Tagged<>(etag, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.cardealer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -18,6 +19,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Setter
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Data Transfer Object for user representation")
 public class UserDto {
 
@@ -33,9 +35,15 @@ public class UserDto {
     @Schema(description = "Unique username", example = "john_doe")
     private String username;
 
-    @Schema(description = "List of favorite car IDs")
+    @Schema(description = "Number of favorite cars", example = "3")
+    private Long favoriteCarCount;
+
+    @Schema(description = "Number of orders placed by the user", example = "2")
+    private Long orderCount;
+
+    @Schema(description = "List of favorite car IDs, returned with expand=favoriteCars")
     private List<@Positive(message = "Car ID must be positive") Long> favoriteCarIds;
 
-    @Schema(description = "List of order IDs placed by the user")
+    @Schema(description = "List of order IDs placed by the user, returned with expand=orders")
     private List<@Positive(message = "Order ID must be positive") Long> orderIds;
 }
\ No newline at end of file
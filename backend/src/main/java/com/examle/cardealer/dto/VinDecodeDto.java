@@ -0,0 +1,37 @@
+package com.example.cardealer.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) for representing a decoded VIN.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+@Schema(description = "Result of VIN validation and decoding")
+public class VinDecodeDto {
+
+    @Schema(description = "Vehicle Identification Number", example = "1HGCM82633A004352")
+    private String vin;
+
+    @Schema(description = "Whether the VIN has a valid length and characters", example = "true")
+    private boolean wellFormed;
+
+    @Schema(description = "Format error, if any", example = "VIN contains invalid characters")
+    private String formatError;
+
+    @Schema(description = "Whether the ISO 3779 check digit matches", example = "true")
+    private boolean checkDigitValid;
+
+    @Schema(description = "Manufacturer decoded from the WMI prefix, if known", example = "Honda")
+    private String manufacturer;
+
+    @Schema(description = "Whether the submitted brand matches the manufacturer (null if no brand given)",
+            example = "true")
+    private Boolean brandMatches;
+}
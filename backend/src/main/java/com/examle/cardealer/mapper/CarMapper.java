@@ -6,11 +6,14 @@ import com.example.cardealer.model.Car;
 import com.example.cardealer.model.Dealer;
 import com.example.cardealer.model.Order;
 import com.example.cardealer.model.User;
+import com.example.cardealer.repository.CarRepository;
 import com.example.cardealer.repository.DealerRepository;
 import com.example.cardealer.repository.OrderRepository;
 import com.example.cardealer.repository.UserRepository;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 
 /**
@@ -22,6 +25,7 @@ public class CarMapper {
     private final DealerRepository dealerRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final CarRepository carRepository;
 
     /**
      * Constructor for CarMapper.
@@ -29,13 +33,16 @@ public class CarMapper {
      * @param dealerRepository the dealer repository
      * @param orderRepository  the order repository
      * @param userRepository   the user repository
+     * @param carRepository    the car repository
      */
     public CarMapper(DealerRepository dealerRepository,
                      OrderRepository orderRepository,
-                     UserRepository userRepository) {
+                     UserRepository userRepository,
+                     CarRepository carRepository) {
         this.dealerRepository = dealerRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.carRepository = carRepository;
     }
 
     /**
@@ -45,6 +52,40 @@ public class CarMapper {
      * @return the car DTO
      */
     public CarDto toDto(Car car) {
+        // Map users who favorited the car
+        if (car.getUsersWhoFavorited() != null) {
+            return toDto(car, car.getUsersWhoFavorited().stream()
+                    .map(User::getId)
+                    .toList());
+        }
+        return toDto(car, new ArrayList<>()); // Initialize empty list
+    }
+
+    /**
+     * Converts a list of Car entities to CarDtos.
+     * Favorites of all cars are read with a single set-based query, and dealer and order
+     * IDs come from the foreign keys, so the number of queries does not grow with the list.
+     *
+     * @param cars the car entities
+     * @return the car DTOs in the same order
+     */
+    public List<CarDto> toDtos(List<Car> cars) {
+        if (cars.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, List<Long>> favorites = new HashMap<>();
+        List<Long> carIds = cars.stream().map(Car::getId).toList();
+        for (CarRepository.FavoriteLink link : carRepository.findFavoriteLinksByCarIds(carIds)) {
+            favorites.computeIfAbsent(link.getCarId(), id -> new ArrayList<>()).add(link.getUserId());
+        }
+
+        return cars.stream()
+                .map(car -> toDto(car, favorites.getOrDefault(car.getId(), new ArrayList<>())))
+                .toList();
+    }
+
+    private CarDto toDto(Car car, List<Long> userIdsWhoFavorited) {
         CarDto carDto = new CarDto();
         carDto.setId(car.getId());
         carDto.setVin(car.getVin());
@@ -54,17 +95,9 @@ public class CarMapper {
         carDto.setPrice(car.getPrice());
         carDto.setColor(car.getColor());
         carDto.setMileage(car.getMileage());
+        // Lazy proxies return their ID without being initialized
         carDto.setDealerId(car.getDealer().getId());
-
-        // Map users who favorited the car
-        if (car.getUsersWhoFavorited() != null) {
-            carDto.setUserIdsWhoFavorited(car.getUsersWhoFavorited().stream()
-                    .map(User::getId)
-                    .toList());
-        } else {
-            carDto.setUserIdsWhoFavorited(new ArrayList<>()); // Initialize empty list
-        }
-
+        carDto.setUserIdsWhoFavorited(userIdsWhoFavorited);
         carDto.setOrderId(car.getOrder() != null ? car.getOrder().getId() : null);
         return carDto;
     }
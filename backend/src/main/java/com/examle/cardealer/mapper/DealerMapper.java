@@ -1,10 +1,17 @@
 package com.example.cardealer.mapper;
 
+import com.example.cardealer.dto.CarDto;
 import com.example.cardealer.dto.DealerDto;
 import com.example.cardealer.model.Car;
 import com.example.cardealer.model.Dealer;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.util.FieldSelection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
@@ -13,40 +20,79 @@ import org.springframework.stereotype.Component;
 @Component
 public class DealerMapper {
 
+    public static final String CARS = "cars";
+
+    /** Fields that can be selected with {@code fields}; the ID is always returned. */
+    public static final Set<String> FIELDS = Set.of("name", "address", "phoneNumber", "carCount");
+    public static final Set<String> EXPANSIONS = Set.of(CARS);
+
+    private static final FieldSelection ALL_WITH_CARS = FieldSelection.parse(null, CARS, FIELDS, EXPANSIONS);
+
     private final CarMapper carMapper;
+    private final CarRepository carRepository;
 
     /**
      * Constructor for DealerMapper.
      *
-     * @param carMapper the car mapper
+     * @param carMapper     the car mapper
+     * @param carRepository the car repository
      */
-    public DealerMapper(CarMapper carMapper) {
+    public DealerMapper(CarMapper carMapper, CarRepository carRepository) {
         this.carMapper = carMapper;
+        this.carRepository = carRepository;
     }
 
     /**
-     * Converts a Dealer entity to a DealerDto.
+     * Converts a Dealer entity to a DealerDto with all fields and its cars.
+     * The cars are read with the same query as in {@link #toDtos}, not from the lazy collection.
      *
      * @param dealer the dealer entity
      * @return the dealer DTO
      */
     public DealerDto toDto(Dealer dealer) {
-        DealerDto dealerDto = new DealerDto();
-        dealerDto.setId(dealer.getId());
-        dealerDto.setName(dealer.getName());
-        dealerDto.setAddress(dealer.getAddress());
-        dealerDto.setPhoneNumber(dealer.getPhoneNumber());
+        DealerDto dealerDto = toDtos(List.of(dealer), ALL_WITH_CARS, Map.of()).get(0);
+        dealerDto.setCarCount((long) dealerDto.getCars().size());
+        return dealerDto;
+    }
 
-        // Маппинг списка Car в CarDto
-        if (dealer.getCars() != null) {
-            dealerDto.setCars(dealer.getCars().stream()
-                    .map(carMapper::toDto)
-                    .toList());
-        } else {
-            dealerDto.setCars(new ArrayList<>());
+    /**
+     * Converts dealers to DTOs with only the selected fields.
+     * Cars of all dealers are loaded with one query and only when expanded.
+     *
+     * @param dealers   the dealer entities
+     * @param selection selected fields and expansions
+     * @param carCounts number of cars per dealer ID, dealers without cars may be absent
+     * @return the dealer DTOs in the order of the entities
+     */
+    public List<DealerDto> toDtos(List<Dealer> dealers, FieldSelection selection, Map<Long, Long> carCounts) {
+        Map<Long, List<CarDto>> cars = Map.of();
+        if (selection.expands(CARS) && !dealers.isEmpty()) {
+            List<Car> entities = carRepository.findByDealerIdIn(dealers.stream().map(Dealer::getId).toList());
+            cars = carMapper.toDtos(entities).stream().collect(Collectors.groupingBy(CarDto::getDealerId));
         }
 
-        return dealerDto;
+        List<DealerDto> dealerDtos = new ArrayList<>(dealers.size());
+        for (Dealer dealer : dealers) {
+            DealerDto dealerDto = new DealerDto();
+            dealerDto.setId(dealer.getId());
+            if (selection.includes("name")) {
+                dealerDto.setName(dealer.getName());
+            }
+            if (selection.includes("address")) {
+                dealerDto.setAddress(dealer.getAddress());
+            }
+            if (selection.includes("phoneNumber")) {
+                dealerDto.setPhoneNumber(dealer.getPhoneNumber());
+            }
+            if (selection.includes("carCount")) {
+                dealerDto.setCarCount(carCounts.getOrDefault(dealer.getId(), 0L));
+            }
+            if (selection.expands(CARS)) {
+                dealerDto.setCars(cars.getOrDefault(dealer.getId(), new ArrayList<>()));
+            }
+            dealerDtos.add(dealerDto);
+        }
+        return dealerDtos;
     }
 
     /**
@@ -91,12 +137,14 @@ public class DealerMapper {
             dealer.setPhoneNumber(dealerDto.getPhoneNumber());
         }
 
-        // Обновление списка автомобилей
+        // Обновление списка автомобилей: изменения применяются к загруженным машинам,
+        // чтобы сохранить их версии
         if (dealerDto.getCars() != null) {
-            List<Car> updatedCars = dealerDto.getCars().stream()
+            Map<Long, CarDto> carDtos = dealerDto.getCars().stream()
                     .filter(carDto -> carDto.getId() != null)
-                    .map(carMapper::toEntity)
-                    .toList();
+                    .collect(Collectors.toMap(CarDto::getId, Function.identity(), (first, second) -> second));
+            List<Car> updatedCars = new ArrayList<>(carRepository.findAllById(carDtos.keySet()));
+            updatedCars.forEach(car -> carMapper.updateEntity(carDtos.get(car.getId()), car));
             dealer.setCars(updatedCars);
         }
     }
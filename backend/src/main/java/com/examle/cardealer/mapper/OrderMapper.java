@@ -6,8 +6,12 @@ import com.example.cardealer.model.Order;
 import com.example.cardealer.model.User;
 import com.example.cardealer.repository.CarRepository;
 import com.example.cardealer.repository.UserRepository;
+import com.example.cardealer.util.FieldSelection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,6 +20,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class OrderMapper {
 
+    public static final String CARS = "cars";
+
+    /** Fields that can be selected with {@code fields}; the ID is always returned. */
+    public static final Set<String> FIELDS = Set.of("orderDate", "totalPrice", "userId", "carCount");
+    public static final Set<String> EXPANSIONS = Set.of(CARS);
+
     private final UserRepository userRepository;
     private final CarRepository carRepository;
 
@@ -52,12 +62,55 @@ public class OrderMapper {
         } else {
             orderDto.setCarIds(new ArrayList<>()); // Initialize empty list
         }
+        orderDto.setCarCount((long) orderDto.getCarIds().size());
 
         return orderDto;
     }
 
+    /**
+     * Converts orders to DTOs with only the selected fields.
+     * Car IDs of all orders are loaded with one query and only when expanded.
+     *
+     * @param orders    the order entities
+     * @param selection selected fields and expansions
+     * @param carCounts number of cars per order ID, orders without cars may be absent
+     * @return the order DTOs in the order of the entities
+     */
+    public List<OrderDto> toDtos(List<Order> orders, FieldSelection selection, Map<Long, Long> carCounts) {
+        Map<Long, List<Long>> carIds = Map.of();
+        if (selection.expands(CARS) && !orders.isEmpty()) {
+            carIds = carRepository.findOrderLinksByOrderIds(orders.stream().map(Order::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(CarRepository.OrderLink::getOrderId,
+                            Collectors.mapping(CarRepository.OrderLink::getCarId, Collectors.toList())));
+        }
+
+        List<OrderDto> orderDtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderDto orderDto = new OrderDto();
+            orderDto.setId(order.getId());
+            if (selection.includes("orderDate")) {
+                orderDto.setOrderDate(order.getOrderDate());
+            }
+            if (selection.includes("totalPrice")) {
+                orderDto.setTotalPrice(order.getTotalPrice());
+            }
+            if (selection.includes("userId")) {
+                orderDto.setUserId(order.getUser().getId());
+            }
+            if (selection.includes("carCount")) {
+                orderDto.setCarCount(carCounts.getOrDefault(order.getId(), 0L));
+            }
+            if (selection.expands(CARS)) {
+                orderDto.setCarIds(carIds.getOrDefault(order.getId(), new ArrayList<>()));
+            }
+            orderDtos.add(orderDto);
+        }
+        return orderDtos;
+    }
+
     /**
      * Converts an OrderDto to an Order entity.
+     * Cars are not loaded; {@code OrderService} locks and claims them itself.
      *
      * @param orderDto the order DTO
      * @return the order entity
@@ -66,7 +119,9 @@ public class OrderMapper {
         Order order = new Order();
         order.setId(orderDto.getId());
         order.setOrderDate(orderDto.getOrderDate());
-        order.setTotalPrice(orderDto.getTotalPrice());
+        if (orderDto.getTotalPrice() != null) {
+            order.setTotalPrice(orderDto.getTotalPrice());
+        }
 
         // Load user by ID
         if (orderDto.getUserId() != null) {
@@ -76,17 +131,12 @@ public class OrderMapper {
             order.setUser(user);
         }
 
-        // Load cars by their IDs
-        if (orderDto.getCarIds() != null) {
-            List<Car> cars = carRepository.findAllById(orderDto.getCarIds());
-            order.setCars(cars);
-        }
-
         return order;
     }
 
     /**
      * Updates an Order entity with data from an OrderDto.
+     * The car list is left to {@code OrderService}, which replaces it with bulk updates.
      *
      * @param orderDto the order DTO with updated data
      * @param order    the order entity to update
@@ -95,7 +145,7 @@ public class OrderMapper {
         if (orderDto.getOrderDate() != null) {
             order.setOrderDate(orderDto.getOrderDate());
         }
-        if (orderDto.getTotalPrice() != 0) {
+        if (orderDto.getTotalPrice() != null && orderDto.getTotalPrice() != 0) {
             order.setTotalPrice(orderDto.getTotalPrice());
         }
 
@@ -105,11 +155,5 @@ public class OrderMapper {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             order.setUser(user);
         }
-
-        // Update car list
-        if (orderDto.getCarIds() != null) {
-            List<Car> cars = carRepository.findAllById(orderDto.getCarIds());
-            order.setCars(cars);
-        }
     }
 }
\ No newline at end of file
@@ -6,8 +6,13 @@ import com.example.cardealer.model.Order;
 import com.example.cardealer.model.User;
 import com.example.cardealer.repository.CarRepository;
 import com.example.cardealer.repository.OrderRepository;
+import com.example.cardealer.repository.UserRepository;
+import com.example.cardealer.util.FieldSelection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,19 +21,30 @@ import org.springframework.stereotype.Component;
 @Component
 public class UserMapper {
 
+    public static final String FAVORITE_CARS = "favoriteCars";
+    public static final String ORDERS = "orders";
+
+    /** Fields that can be selected with {@code fields}; the ID is always returned. */
+    public static final Set<String> FIELDS = Set.of("username", "favoriteCarCount", "orderCount");
+    public static final Set<String> EXPANSIONS = Set.of(FAVORITE_CARS, ORDERS);
+
     private final CarRepository carRepository;
     private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
 
     /**
      * Constructor for UserMapper.
      *
      * @param carRepository   the car repository
      * @param orderRepository the order repository
+     * @param userRepository  the user repository
      */
     public UserMapper(CarRepository carRepository,
-                      OrderRepository orderRepository) {
+                      OrderRepository orderRepository,
+                      UserRepository userRepository) {
         this.carRepository = carRepository;
         this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -59,10 +75,57 @@ public class UserMapper {
         } else {
             userDto.setOrderIds(new ArrayList<>()); // Initialize empty list
         }
+        userDto.setFavoriteCarCount((long) userDto.getFavoriteCarIds().size());
+        userDto.setOrderCount((long) userDto.getOrderIds().size());
 
         return userDto;
     }
 
+    /**
+     * Converts users to DTOs with only the selected fields.
+     * Counts and related IDs of all users are loaded with one grouped query each,
+     * and only when selected, instead of initializing the collections of every user.
+     *
+     * @param users     the user entities
+     * @param selection selected fields and expansions
+     * @return the user DTOs in the order of the entities
+     */
+    public List<UserDto> toDtos(List<User> users, FieldSelection selection) {
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        boolean any = !userIds.isEmpty();
+        Map<Long, Long> favoriteCounts = any && selection.includes("favoriteCarCount")
+                ? toCounts(userRepository.countFavoritesByUserIds(userIds)) : Map.of();
+        Map<Long, Long> orderCounts = any && selection.includes("orderCount")
+                ? toCounts(userRepository.countOrdersByUserIds(userIds)) : Map.of();
+        Map<Long, List<Long>> favoriteIds = any && selection.expands(FAVORITE_CARS)
+                ? toIds(userRepository.findFavoriteIdsByUserIds(userIds)) : Map.of();
+        Map<Long, List<Long>> orderIds = any && selection.expands(ORDERS)
+                ? toIds(userRepository.findOrderIdsByUserIds(userIds)) : Map.of();
+
+        List<UserDto> userDtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            UserDto userDto = new UserDto();
+            userDto.setId(user.getId());
+            if (selection.includes("username")) {
+                userDto.setUsername(user.getUsername());
+            }
+            if (selection.includes("favoriteCarCount")) {
+                userDto.setFavoriteCarCount(favoriteCounts.getOrDefault(user.getId(), 0L));
+            }
+            if (selection.includes("orderCount")) {
+                userDto.setOrderCount(orderCounts.getOrDefault(user.getId(), 0L));
+            }
+            if (selection.expands(FAVORITE_CARS)) {
+                userDto.setFavoriteCarIds(favoriteIds.getOrDefault(user.getId(), new ArrayList<>()));
+            }
+            if (selection.expands(ORDERS)) {
+                userDto.setOrderIds(orderIds.getOrDefault(user.getId(), new ArrayList<>()));
+            }
+            userDtos.add(userDto);
+        }
+        return userDtos;
+    }
+
     /**
      * Converts a UserDto to a User entity.
      *
@@ -112,4 +175,14 @@ public class UserMapper {
             user.setOrders(orders);
         }
     }
+
+    private static Map<Long, Long> toCounts(List<UserRepository.OwnerCount> counts) {
+        return counts.stream().collect(Collectors.toMap(UserRepository.OwnerCount::getOwnerId,
+                UserRepository.OwnerCount::getTotal));
+    }
+
+    private static Map<Long, List<Long>> toIds(List<UserRepository.OwnedId> links) {
+        return links.stream().collect(Collectors.groupingBy(UserRepository.OwnedId::getOwnerId,
+                Collectors.mapping(UserRepository.OwnedId::getId, Collectors.toList())));
+    }
 }
\ No newline at end of file
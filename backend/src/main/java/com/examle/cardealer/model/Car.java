@@ -1,27 +1,47 @@
 package com.example.cardealer.model;
 
+import com.example.cardealer.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Represents a car entity in the car dealership system.
  */
 @Entity
-@Table(name = "cars")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CARS)
+@Table(name = "cars", indexes = {
+    @Index(name = "idx_cars_price_id", columnList = "price, id"),
+    @Index(name = "idx_cars_year_id", columnList = "year, id"),
+    @Index(name = "idx_cars_mileage_id", columnList = "mileage, id"),
+    @Index(name = "idx_cars_brand_price", columnList = "brand, price"),
+    @Index(name = "idx_cars_dealer_id", columnList = "dealer_id, id"),
+    @Index(name = "idx_cars_brand_key_dealer", columnList = "brand_key, dealer_id"),
+    @Index(name = "idx_cars_order_dealer", columnList = "order_id, dealer_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Setter
@@ -32,6 +52,11 @@ public class Car {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false, unique = true)
     private String vin;
 
@@ -41,6 +66,10 @@ public class Car {
     @Column(nullable = false)
     private String brand;
 
+    /** Trimmed lower-case brand, so brand lookups use a plain index instead of {@code LOWER(brand)}. */
+    @Column(name = "brand_key")
+    private String brandKey;
+
     @Column(nullable = false)
     private int year;
 
@@ -58,9 +87,26 @@ public class Car {
     private Dealer dealer;
 
     @ManyToMany(mappedBy = "favoriteCars", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CAR_FAVORITED_BY)
     private List<User> usersWhoFavorited  = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
+
+    /**
+     * Normalizes a brand for case-insensitive lookups.
+     *
+     * @param brand the brand as entered
+     * @return trimmed lower-case brand, {@code null} for {@code null}
+     */
+    public static String normalizeBrand(String brand) {
+        return brand == null ? null : brand.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void updateBrandKey() {
+        brandKey = normalizeBrand(brand);
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.cardealer.model;
 
+import com.example.cardealer.constants.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,17 +11,23 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Represents a dealer entity in the car dealership system.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DEALERS)
 @Table(name = "dealers")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +39,11 @@ public class Dealer {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @Column(nullable = false, unique = true)
     private String name;
 
@@ -43,5 +56,6 @@ public class Dealer {
     @OneToMany(mappedBy = "dealer",
             cascade = CascadeType.ALL,
             fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DEALER_CARS)
     private List<Car> cars = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.example.cardealer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running totals of the cars one dealer has of one brand.
+ * Rows are only changed by atomic SQL increments and by reconciliation, never through
+ * the persistence context, so the entity carries no version.
+ */
+@Entity
+@Table(name = "dealer_brand_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dealer_brand_stats", columnNames = {"dealer_id", "brand_key"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class DealerBrandStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dealer_id", nullable = false)
+    private Long dealerId;
+
+    @Column(name = "brand_key", nullable = false)
+    private String brandKey;
+
+    @Column(nullable = false)
+    private String brand;
+
+    @Column(name = "car_count", nullable = false)
+    private long carCount;
+
+    /** Cars of the dealer and brand that belong to an order. */
+    @Column(name = "ordered_count", nullable = false)
+    private long orderedCount;
+
+    @Column(name = "total_price", nullable = false)
+    private double totalPrice;
+
+    @Column(name = "total_mileage", nullable = false)
+    private double totalMileage;
+}
@@ -0,0 +1,47 @@
+package com.example.cardealer.model;
+
+/** Class to store info about an order accepted for asynchronous creation. */
+public class OrderTicket {
+    private Long id;
+    private String status;
+    private Long orderId;
+    private String errorMessage;
+
+    /** Constructor of the class. */
+    public OrderTicket(Long id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cardealer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Domain event written in the same transaction as the change it describes.
+ * Rows are deleted once every listener has received them, so the table only holds
+ * undelivered events. The ID orders the events of one transaction; the delivery sequence,
+ * assigned while the transaction commits, orders them by commit.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_delivery_seq", columnList = "delivery_seq"),
+    @Index(name = "idx_outbox_events_tx_key", columnList = "tx_key")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class OutboxEvent {
+
+    /** Kind of entity an event is about. */
+    public enum Aggregate {
+        CAR, DEALER, ORDER, USER,
+        /** Favorite car of a user; the aggregate ID is the user ID. */
+        FAVORITE,
+        /**
+         * Cars of a dealer changed by one bulk update; the aggregate ID is the dealer ID and
+         * the payload the filter and operation.
+         */
+        DEALER_CARS
+    }
+
+    /** What happened to the entity. */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Aggregate aggregate;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    /** JSON of the entity after the change, {@code null} for deletions and set-based changes. */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    /** ID of the writing transaction, set by the database on insert. */
+    @Column(name = "tx_key", insertable = false, updatable = false,
+            columnDefinition = "bigint NOT NULL DEFAULT txid_current()")
+    private Long txKey;
+
+    /** Position in commit order, {@code null} until the writing transaction commits. */
+    @Column(name = "delivery_seq")
+    private Long deliverySeq;
+}
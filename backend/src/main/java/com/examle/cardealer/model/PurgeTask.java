@@ -0,0 +1,68 @@
+package com.example.cardealer.model;
+
+/** Class to store info about task for asynchronous dealer deletion. */
+public class PurgeTask {
+    private Long id;
+    private Long dealerId;
+    private String status;
+    private long totalCars;
+    private long deletedCars;
+    private String errorMessage;
+
+    /** Constructor of the class. */
+    public PurgeTask(Long id, Long dealerId, String status, long totalCars, long deletedCars) {
+        this.id = id;
+        this.dealerId = dealerId;
+        this.status = status;
+        this.totalCars = totalCars;
+        this.deletedCars = deletedCars;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDealerId() {
+        return dealerId;
+    }
+
+    public void setDealerId(Long dealerId) {
+        this.dealerId = dealerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTotalCars() {
+        return totalCars;
+    }
+
+    public void setTotalCars(long totalCars) {
+        this.totalCars = totalCars;
+    }
+
+    public long getDeletedCars() {
+        return deletedCars;
+    }
+
+    public void setDeletedCars(long deletedCars) {
+        this.deletedCars = deletedCars;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
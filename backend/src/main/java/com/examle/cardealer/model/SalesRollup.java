@@ -0,0 +1,56 @@
+package com.example.cardealer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales of one day, dealer and brand.
+ * An order counts once in every row it has cars in. Rows are only changed by atomic SQL
+ * increments, never through the persistence context, so the entity carries no version.
+ */
+@Entity
+@Table(name = "sales_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_sales_rollup", columnNames = {"sale_date", "dealer_id", "brand_key"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Order date in the dealership time zone. */
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(name = "dealer_id", nullable = false)
+    private Long dealerId;
+
+    @Column(name = "brand_key", nullable = false)
+    private String brandKey;
+
+    @Column(nullable = false)
+    private String brand;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "cars_sold", nullable = false)
+    private long carsSold;
+
+    @Column(nullable = false)
+    private double revenue;
+}
@@ -0,0 +1,57 @@
+package com.example.cardealer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of the one-time fill of {@link SalesRollup} from existing orders.
+ * The table holds a single row, written when the backfill starts and after every chunk, so a
+ * restarted application resumes where the previous one stopped.
+ */
+@Entity
+@Table(name = "sales_rollup_backfill")
+@NoArgsConstructor
+@AllArgsConstructor
+@Setter
+@Getter
+public class SalesRollupBackfill {
+
+    /** ID of the single row. */
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    /** Highest order ID that existed when the backfill started. */
+    @Column(name = "up_to_id", nullable = false)
+    private long upToId;
+
+    /** Highest order ID counted so far. */
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    /**
+     * Tells whether an order is left to the backfill rather than to the incremental updates.
+     *
+     * @param orderId the order ID
+     * @return {@code true} if the order existed at the start and has not been counted yet
+     */
+    public boolean isPending(long orderId) {
+        return orderId > lastId && orderId <= upToId;
+    }
+
+    /**
+     * Tells whether every order that existed at the start is counted.
+     *
+     * @return {@code true} once the backfill is complete
+     */
+    public boolean isDone() {
+        return lastId >= upToId;
+    }
+}
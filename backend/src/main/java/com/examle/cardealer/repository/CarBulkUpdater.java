@@ -0,0 +1,102 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.Car;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based updates of many cars.
+ * The change is applied with one {@code UPDATE cars SET ... WHERE <filter>} instead of
+ * loading, changing and saving every car, so the filter is evaluated on the rows as they are
+ * when they are written.
+ */
+@Repository
+public class CarBulkUpdater {
+
+    private static final String ID = "id";
+    private static final String PRICE = "price";
+    private static final String COLOR = "color";
+    private static final String VERSION = "version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Finds a car matching a specification whose new price would not be positive.
+     *
+     * @param specification the car filter
+     * @param priceFactor   price multiplier (optional)
+     * @param priceDelta    amount added to the price (optional)
+     * @return ID of the first such car, {@code null} for none
+     */
+    public Long findNotPositive(Specification<Car> specification, Double priceFactor, Double priceDelta) {
+        if (priceFactor == null && priceDelta == null) {
+            return null;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Car> root = query.from(Car.class);
+        query.select(root.get(ID))
+                .where(cb.and(specification.toPredicate(root, query, cb),
+                        cb.le(newPrice(root, cb, priceFactor, priceDelta), 0.0)))
+                .orderBy(cb.asc(root.get(ID)));
+        List<Long> ids = entityManager.createQuery(query).setMaxResults(1).getResultList();
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Sets {@code price = price * priceFactor + priceDelta} and the color of the cars matching
+     * a specification. Absent operation values leave the attribute unchanged and the version is
+     * incremented like an ordinary update would do. Cars whose new price would not be positive
+     * are left alone. Managed cars are detached afterwards so later reads see the new values.
+     *
+     * @param specification the car filter
+     * @param priceFactor   price multiplier (optional)
+     * @param priceDelta    amount added to the price (optional)
+     * @param color         new color (optional)
+     * @return number of updated rows
+     */
+    public int update(Specification<Car> specification, Double priceFactor, Double priceDelta, String color) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Car> update = cb.createCriteriaUpdate(Car.class);
+        Root<Car> root = update.from(Car.class);
+
+        Predicate filter = specification.toPredicate(root, null, cb);
+        if (priceFactor != null || priceDelta != null) {
+            Expression<Double> price = newPrice(root, cb, priceFactor, priceDelta);
+            update.set(root.<Double>get(PRICE), price);
+            filter = cb.and(filter, cb.gt(price, 0.0));
+        }
+        if (color != null) {
+            update.set(root.<String>get(COLOR), color);
+        }
+        update.set(root.<Long>get(VERSION), cb.sum(root.<Long>get(VERSION), 1L));
+        update.where(filter);
+
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    private static Expression<Double> newPrice(Root<Car> root, CriteriaBuilder cb,
+                                               Double priceFactor, Double priceDelta) {
+        Expression<Double> price = root.get(PRICE);
+        if (priceFactor != null) {
+            price = cb.prod(price, priceFactor);
+        }
+        if (priceDelta != null) {
+            price = cb.sum(price, priceDelta);
+        }
+        return price;
+    }
+}
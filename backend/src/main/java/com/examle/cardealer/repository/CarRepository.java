@@ -1,12 +1,23 @@
 package com.example.cardealer.repository;
 
 import com.example.cardealer.model.Car;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,24 +25,133 @@ import org.springframework.stereotype.Repository;
  * Repository for {@link Car} entities with custom queries.
  */
 @Repository
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+
+    String BRAND_STOCK = "SELECT c.dealer.id AS dealerId, c.brandKey AS brandKey, MAX(c.brand) AS brand, "
+            + "COUNT(c) AS carCount, SUM(CASE WHEN c.order IS NOT NULL THEN 1 ELSE 0 END) AS orderedCount, "
+            + "SUM(c.price) AS totalPrice, SUM(c.mileage) AS totalMileage FROM Car c ";
+
+    String SALE_LINES = "SELECT o.id AS orderId, o.orderDate AS orderDate, o.totalPrice AS orderTotal, "
+            + "c.dealer.id AS dealerId, c.brandKey AS brandKey, MAX(c.brand) AS brand, COUNT(c) AS carCount "
+            + "FROM Car c JOIN c.order o ";
+
+    String SEARCH_ATTRIBUTES = "SELECT c.id AS id, c.brand AS brand, c.model AS model, c.color AS color, "
+            + "c.year AS year, c.price AS price, c.mileage AS mileage FROM Car c ";
 
     /**
-     * Finds cars by optional year range and max mileage filters.
-     *
-     * @param minYear Minimum year (inclusive, optional)
-     * @param maxYear Maximum year (inclusive, optional)
-     * @param maxMileage Maximum mileage (inclusive, optional)
-     * @return List of matching cars
+     * Link between a car and a user who favorited it.
+     */
+    interface FavoriteLink {
+        Long getCarId();
+
+        Long getUserId();
+    }
+
+    /**
+     * Link between an order and one of its cars.
+     */
+    interface OrderLink {
+        Long getOrderId();
+
+        Long getCarId();
+    }
+
+    /**
+     * Identity and typeahead attributes of a car.
+     */
+    interface CarKey {
+        Long getId();
+
+        String getBrand();
+
+        String getModel();
+    }
+
+    /**
+     * Faceted search attributes of a car.
+     */
+    interface SearchAttributes {
+        Long getId();
+
+        String getBrand();
+
+        String getModel();
+
+        String getColor();
+
+        int getYear();
+
+        double getPrice();
+
+        double getMileage();
+    }
+
+    /**
+     * Number, order count and value totals of the cars of one brand.
      */
-    @Query("SELECT c FROM Car c WHERE "
-            + "(:minYear IS NULL OR c.year >= :minYear) AND "
-            + "(:maxYear IS NULL OR c.year <= :maxYear) AND "
-            + "(:maxMileage IS NULL OR c.mileage <= :maxMileage)")
-    List<Car> findByYearAndMileage(
-            @Param("minYear") Integer minYear,
-            @Param("maxYear") Integer maxYear,
-            @Param("maxMileage") Double maxMileage);
+    interface BrandStock {
+        Long getDealerId();
+
+        String getBrandKey();
+
+        String getBrand();
+
+        long getCarCount();
+
+        long getOrderedCount();
+
+        double getTotalPrice();
+
+        double getTotalMileage();
+    }
+
+    /**
+     * Cars of one dealer and brand in one order, with the total price the order was placed for.
+     */
+    interface SaleLine {
+        Long getOrderId();
+
+        Date getOrderDate();
+
+        double getOrderTotal();
+
+        Long getDealerId();
+
+        String getBrandKey();
+
+        String getBrand();
+
+        long getCarCount();
+    }
+
+    /**
+     * Number, version sum and highest ID of the cars of one dealer or order.
+     * Together with the owner version it changes whenever the owner's car list does.
+     */
+    interface VersionSummary {
+        Long getOwnerId();
+
+        Long getCarCount();
+
+        Long getVersionSum();
+
+        Long getMaxCarId();
+    }
+
+    /**
+     * Number of cars and price statistics of one brand.
+     */
+    interface BrandPriceSummary {
+        String getBrand();
+
+        Long getCarCount();
+
+        Double getMinPrice();
+
+        Double getAvgPrice();
+
+        Double getMaxPrice();
+    }
 
 
     boolean existsByVin(@NotBlank(message = "VIN cannot be empty") @Size(min = 17, max = 17, message = "VIN must be exactly 17 characters") @Pattern(
@@ -40,4 +160,167 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     ) String vin);
 
     List<Car> findByVinIn(List<String> vinsToCheck);
+
+    @Query("SELECT c.vin FROM Car c WHERE c.vin IN :vins")
+    List<String> findExistingVins(@Param("vins") Collection<String> vins);
+
+    /**
+     * Loads favorite links of many cars in one query instead of one lazy collection per car.
+     *
+     * @param carIds IDs of the cars
+     * @return car/user pairs of the favorites
+     */
+    @Query("SELECT c.id AS carId, u.id AS userId FROM User u "
+            + "JOIN u.favoriteCars c WHERE c.id IN :carIds")
+    List<FavoriteLink> findFavoriteLinksByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    @Query("SELECT c.order.id AS orderId, c.id AS carId FROM Car c WHERE c.order.id IN :orderIds")
+    List<OrderLink> findOrderLinksByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    List<Car> findByDealerIdIn(Collection<Long> dealerIds);
+
+    @Query("SELECT c.id AS id, c.brand AS brand, c.model AS model FROM Car c WHERE c.dealer.id = :dealerId")
+    List<CarKey> findKeysByDealerId(@Param("dealerId") Long dealerId);
+
+    @Query("SELECT c.brand AS brand, COUNT(c) AS carCount, MIN(c.price) AS minPrice, "
+            + "AVG(c.price) AS avgPrice, MAX(c.price) AS maxPrice "
+            + "FROM Car c WHERE c.dealer.id = :dealerId GROUP BY c.brand ORDER BY c.brand")
+    List<BrandPriceSummary> summarizePricesByDealerId(@Param("dealerId") Long dealerId);
+
+    @Query("SELECT c.id AS id, c.brand AS brand, c.model AS model FROM Car c "
+            + "WHERE c.dealer.id = :dealerId ORDER BY c.id")
+    List<CarKey> findKeysByDealerId(@Param("dealerId") Long dealerId, Pageable pageable);
+
+    @Query(BRAND_STOCK + "WHERE c.dealer.id = :dealerId GROUP BY c.dealer.id, c.brandKey")
+    List<BrandStock> summarizeStockByDealerId(@Param("dealerId") Long dealerId);
+
+    @Query(BRAND_STOCK + "WHERE c.id IN :carIds GROUP BY c.dealer.id, c.brandKey")
+    List<BrandStock> summarizeStockByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    @Query(BRAND_STOCK + "WHERE c.order.id IN :orderIds GROUP BY c.dealer.id, c.brandKey")
+    List<BrandStock> summarizeStockByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(BRAND_STOCK + "WHERE c.order.user.id = :userId GROUP BY c.dealer.id, c.brandKey")
+    List<BrandStock> summarizeStockByOrderUserId(@Param("userId") Long userId);
+
+    @Query(SALE_LINES + "WHERE o.id IN :orderIds GROUP BY o.id, o.orderDate, o.totalPrice, c.dealer.id, c.brandKey")
+    List<SaleLine> summarizeSalesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query(SALE_LINES + "WHERE o.user.id = :userId "
+            + "GROUP BY o.id, o.orderDate, o.totalPrice, c.dealer.id, c.brandKey")
+    List<SaleLine> summarizeSalesByOrderUserId(@Param("userId") Long userId);
+
+    long countByDealerId(Long dealerId);
+
+    boolean existsByDealerId(Long dealerId);
+
+    @Query("SELECT DISTINCT c.order.id FROM Car c WHERE c.id IN :carIds AND c.order IS NOT NULL")
+    List<Long> findOrderIdsByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    @Query("SELECT DISTINCT c.order.id FROM Car c WHERE c.dealer.id = :dealerId AND c.order IS NOT NULL")
+    List<Long> findOrderIdsByDealerId(@Param("dealerId") Long dealerId);
+
+    @Modifying
+    @Query("UPDATE Car c SET c.brandKey = LOWER(TRIM(c.brand)) WHERE c.brandKey IS NULL")
+    int fillMissingBrandKeys();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorite_car"))
+    @Query(value = "DELETE FROM user_favorite_car WHERE car_id IN (:carIds)", nativeQuery = true)
+    int deleteFavoritesByCarIds(@Param("carIds") Collection<Long> carIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorite_car"))
+    @Query(value = "DELETE FROM user_favorite_car WHERE car_id IN "
+            + "(SELECT id FROM cars WHERE dealer_id = :dealerId)", nativeQuery = true)
+    int deleteFavoritesByDealerId(@Param("dealerId") Long dealerId);
+
+    @Modifying
+    @Query("UPDATE Car c SET c.order = null, c.version = c.version + 1 WHERE c.order.id IN :orderIds")
+    int clearOrderByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Locks the given cars in ID order, so concurrent checkouts of overlapping cars queue
+     * instead of deadlocking. Cars already in the persistence context are not refreshed.
+     *
+     * @param carIds IDs of the cars
+     * @return the existing cars ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Car c WHERE c.id IN :carIds ORDER BY c.id")
+    List<Car> findAllByIdForUpdate(@Param("carIds") Collection<Long> carIds);
+
+    @Modifying
+    @Query("UPDATE Car c SET c.order = null, c.version = c.version + 1 WHERE c.order.id IN "
+            + "(SELECT o.id FROM Order o WHERE o.user.id = :userId)")
+    int clearOrderByUserId(@Param("userId") Long userId);
+
+    /** Bumps the version of cars whose favorites changed outside their own collection. */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Car c SET c.version = c.version + 1 WHERE c.id IN :carIds")
+    int incrementVersions(@Param("carIds") Collection<Long> carIds);
+
+    /**
+     * Loads cars so their versions are incremented when the transaction commits. Unlike
+     * {@link #incrementVersions} it goes through the persistence context, so the second-level
+     * cache replaces just these cars.
+     *
+     * @param carIds IDs of the cars
+     * @return the existing cars
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Car c WHERE c.id IN :carIds")
+    List<Car> findAllByIdForVersionIncrement(@Param("carIds") Collection<Long> carIds);
+
+    @Query("SELECT f.id FROM User u JOIN u.favoriteCars f WHERE u.id = :userId")
+    List<Long> findFavoriteIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT c.dealer.id AS ownerId, COUNT(c) AS carCount, SUM(c.version) AS versionSum, MAX(c.id) AS maxCarId "
+            + "FROM Car c WHERE c.dealer.id IN :dealerIds GROUP BY c.dealer.id")
+    List<VersionSummary> summarizeVersionsByDealerIds(@Param("dealerIds") Collection<Long> dealerIds);
+
+    @Query("SELECT c.order.id AS ownerId, COUNT(c) AS carCount, SUM(c.version) AS versionSum, MAX(c.id) AS maxCarId "
+            + "FROM Car c WHERE c.order.id IN :orderIds GROUP BY c.order.id")
+    List<VersionSummary> summarizeVersionsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Car c WHERE c.id IN :carIds")
+    int deleteAllByIdIn(@Param("carIds") Collection<Long> carIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Car c WHERE c.dealer.id = :dealerId")
+    int deleteAllByDealerId(@Param("dealerId") Long dealerId);
+
+    /**
+     * Streams all cars ordered by id, reading rows from the JDBC cursor in batches.
+     * Must be consumed inside a transaction and closed afterwards. The cars bypass the
+     * second-level cache, so a full scan does not push the hot cars out of the region.
+     *
+     * @return stream of all cars
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT c FROM Car c ORDER BY c.id")
+    Stream<Car> streamAllOrderById();
+
+    /**
+     * Streams the search attributes of all cars, reading rows from the JDBC cursor in batches.
+     * Rows are not entities, so the persistence context stays empty however many cars there are.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of the search attributes of all cars
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SEARCH_ATTRIBUTES + "ORDER BY c.id")
+    Stream<SearchAttributes> streamSearchAttributes();
+
+    @Query(SEARCH_ATTRIBUTES + "WHERE c.dealer.id = :dealerId")
+    List<SearchAttributes> findSearchAttributesByDealerId(@Param("dealerId") Long dealerId);
 }
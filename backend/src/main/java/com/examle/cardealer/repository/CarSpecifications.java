@@ -0,0 +1,59 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.Car;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates for dynamic {@link Car} searches.
+ * Each factory returns {@code null} for an absent filter, and Spring Data skips
+ * {@code null} specifications, so the generated SQL only contains supplied predicates.
+ */
+public final class CarSpecifications {
+
+    private CarSpecifications() {} // No instances
+
+    public static Specification<Car> brandEquals(String brand) {
+        return isBlank(brand) ? null : (root, query, cb) -> cb.equal(root.get("brand"), brand.trim());
+    }
+
+    public static Specification<Car> modelEquals(String model) {
+        return isBlank(model) ? null : (root, query, cb) -> cb.equal(root.get("model"), model.trim());
+    }
+
+    public static Specification<Car> colorEquals(String color) {
+        return isBlank(color) ? null : (root, query, cb) -> cb.equal(root.get("color"), color.trim());
+    }
+
+    public static Specification<Car> dealerEquals(Long dealerId) {
+        return dealerId == null ? null : (root, query, cb) -> cb.equal(root.get("dealer").get("id"), dealerId);
+    }
+
+    public static Specification<Car> priceBetween(Double minPrice, Double maxPrice) {
+        return between("price", minPrice, maxPrice);
+    }
+
+    public static Specification<Car> yearBetween(Integer minYear, Integer maxYear) {
+        return between("year", minYear, maxYear);
+    }
+
+    public static Specification<Car> mileageBetween(Double minMileage, Double maxMileage) {
+        return between("mileage", minMileage, maxMileage);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Car> between(String attribute, T min, T max) {
+        if (min != null && max != null) {
+            return (root, query, cb) -> cb.between(root.get(attribute), min, max);
+        }
+        if (min != null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), min);
+        }
+        if (max != null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(attribute), max);
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.Car;
+import com.example.cardealer.model.Dealer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Alternative formulations of the dealer-by-brand lookup, kept side by side for benchmarking.
+ * Every variant returns the dealers selling a brand; they differ in how the database gets there.
+ */
+@Repository
+public class DealerBrandQueries {
+
+    /** Query formulations that are compared. */
+    public enum Variant {
+        /** The former JPQL query: join, {@code LOWER(brand)} and {@code DISTINCT} over whole dealers. */
+        JPQL_JOIN("SELECT DISTINCT d.* FROM dealers d JOIN cars c ON d.id = c.dealer_id "
+                + "WHERE LOWER(c.brand) = LOWER(?)"),
+        /** The former native query, the same SQL without the JPQL translation. */
+        NATIVE_JOIN("SELECT DISTINCT d.* FROM dealers d JOIN cars c ON d.id = c.dealer_id "
+                + "WHERE LOWER(c.brand) = LOWER(?)"),
+        /** Semi-join: every dealer is tested once, no duplicate rows to remove. */
+        EXISTS_SEMI_JOIN("SELECT d.* FROM dealers d WHERE EXISTS "
+                + "(SELECT 1 FROM cars c WHERE c.dealer_id = d.id AND c.brand_key = ?)"),
+        /** The current lookup: distinct dealer IDs from the brand key index, then dealers by ID. */
+        BRAND_KEY_INDEX("SELECT DISTINCT dealer_id FROM cars WHERE brand_key = ?");
+
+        private final String sql;
+
+        Variant(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for DealerBrandQueries.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    public DealerBrandQueries(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs one variant with an empty persistence context.
+     *
+     * @param variant query formulation
+     * @param brand   brand in any case
+     * @return the dealers selling the brand
+     */
+    @SuppressWarnings("unchecked")
+    public List<Dealer> find(Variant variant, String brand) {
+        entityManager.clear();
+        String brandKey = Car.normalizeBrand(brand);
+        return switch (variant) {
+            case JPQL_JOIN -> entityManager.createQuery("SELECT DISTINCT d FROM Dealer d "
+                            + "JOIN d.cars c WHERE LOWER(c.brand) = LOWER(:brand)", Dealer.class)
+                    .setParameter("brand", brand)
+                    .getResultList();
+            case NATIVE_JOIN -> entityManager.createNativeQuery(nativeSql(variant), Dealer.class)
+                    .setParameter("brand", brand)
+                    .getResultList();
+            case EXISTS_SEMI_JOIN -> entityManager.createNativeQuery(nativeSql(variant), Dealer.class)
+                    .setParameter("brand", brandKey)
+                    .getResultList();
+            case BRAND_KEY_INDEX -> {
+                List<Long> ids = entityManager.createQuery(
+                                "SELECT DISTINCT c.dealer.id FROM Car c WHERE c.brandKey = :brand", Long.class)
+                        .setParameter("brand", brandKey)
+                        .getResultList();
+                yield entityManager.createQuery("SELECT d FROM Dealer d WHERE d.id IN :ids", Dealer.class)
+                        .setParameter("ids", ids)
+                        .getResultList();
+            }
+        };
+    }
+
+    /**
+     * Asks the database for the execution plan of a variant.
+     * {@code EXPLAIN} is understood by PostgreSQL, MySQL and H2; each plan row becomes one line.
+     *
+     * @param variant query formulation
+     * @param brand   brand in any case
+     * @return plan lines as reported by the database
+     */
+    public List<String> explain(Variant variant, String brand) {
+        String parameter = variant == Variant.JPQL_JOIN || variant == Variant.NATIVE_JOIN
+                ? brand
+                : Car.normalizeBrand(brand);
+        List<String> plan = new ArrayList<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + variant.getSql(), parameter)) {
+            plan.add(row.size() == 1 ? String.valueOf(row.values().iterator().next()) : row.toString());
+        }
+        return plan;
+    }
+
+    private static String nativeSql(Variant variant) {
+        return variant.getSql().replace("?", ":brand");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.DealerBrandStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for {@link DealerBrandStats} rows.
+ * Changes are single-statement upserts, so concurrent writers never lose each other's deltas.
+ */
+@Repository
+public interface DealerBrandStatsRepository extends JpaRepository<DealerBrandStats, Long> {
+
+    List<DealerBrandStats> findByDealerIdAndCarCountGreaterThanOrderByBrandKey(Long dealerId, long carCount);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DealerBrandStats s WHERE s.dealerId = :dealerId")
+    List<DealerBrandStats> lockByDealerId(@Param("dealerId") Long dealerId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dealer_brand_stats"))
+    @Query(value = "INSERT INTO dealer_brand_stats "
+            + "(dealer_id, brand_key, brand, car_count, ordered_count, total_price, total_mileage) "
+            + "VALUES (:dealerId, :brandKey, :brand, :carCount, :orderedCount, :totalPrice, :totalMileage) "
+            + "ON CONFLICT (dealer_id, brand_key) DO UPDATE SET "
+            + "brand = EXCLUDED.brand, "
+            + "car_count = dealer_brand_stats.car_count + EXCLUDED.car_count, "
+            + "ordered_count = dealer_brand_stats.ordered_count + EXCLUDED.ordered_count, "
+            + "total_price = dealer_brand_stats.total_price + EXCLUDED.total_price, "
+            + "total_mileage = dealer_brand_stats.total_mileage + EXCLUDED.total_mileage",
+            nativeQuery = true)
+    int addDelta(@Param("dealerId") Long dealerId,
+                 @Param("brandKey") String brandKey,
+                 @Param("brand") String brand,
+                 @Param("carCount") long carCount,
+                 @Param("orderedCount") long orderedCount,
+                 @Param("totalPrice") double totalPrice,
+                 @Param("totalMileage") double totalMileage);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dealer_brand_stats"))
+    @Query(value = "INSERT INTO dealer_brand_stats "
+            + "(dealer_id, brand_key, brand, car_count, ordered_count, total_price, total_mileage) "
+            + "VALUES (:dealerId, :brandKey, :brand, :carCount, :orderedCount, :totalPrice, :totalMileage) "
+            + "ON CONFLICT (dealer_id, brand_key) DO UPDATE SET "
+            + "brand = EXCLUDED.brand, "
+            + "car_count = EXCLUDED.car_count, "
+            + "ordered_count = EXCLUDED.ordered_count, "
+            + "total_price = EXCLUDED.total_price, "
+            + "total_mileage = EXCLUDED.total_mileage",
+            nativeQuery = true)
+    int setTotals(@Param("dealerId") Long dealerId,
+                  @Param("brandKey") String brandKey,
+                  @Param("brand") String brand,
+                  @Param("carCount") long carCount,
+                  @Param("orderedCount") long orderedCount,
+                  @Param("totalPrice") double totalPrice,
+                  @Param("totalMileage") double totalMileage);
+
+    @Modifying
+    @Query("DELETE FROM DealerBrandStats s WHERE s.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM DealerBrandStats s WHERE s.dealerId = :dealerId")
+    int deleteAllByDealerId(@Param("dealerId") Long dealerId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dealer_brand_stats"))
+    @Query(value = "DELETE FROM dealer_brand_stats s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM dealers d WHERE d.id = s.dealer_id)", nativeQuery = true)
+    int deleteOrphans();
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,16 +18,19 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DealerRepository extends JpaRepository<Dealer, Long> {
 
-    @Query("SELECT DISTINCT d FROM Dealer d "
-            + "JOIN d.cars c WHERE LOWER(c.brand) = LOWER(:brand)")
-    List<Dealer> findDealersWithBrand(@Param("brand") String brand);
+    @Query("SELECT DISTINCT c.dealer.id FROM Car c WHERE c.brandKey = :brandKey")
+    List<Long> findIdsWithBrand(@Param("brandKey") String brandKey);
 
-    @Query(value =
-            "SELECT DISTINCT d.* FROM dealers d "
-                + "JOIN cars c ON d.id = c.dealer_id "
-                        + "WHERE LOWER(c.brand) = LOWER(:brand)",
+    @Query(value = "SELECT DISTINCT dealer_id FROM cars WHERE brand_key = :brandKey",
             nativeQuery = true)
-    List<Dealer> findDealersWithBrandNative(@Param("brand") String brand);
+    List<Long> findIdsWithBrandNative(@Param("brandKey") String brandKey);
+
+    @Query("SELECT d.id FROM Dealer d")
+    List<Long> findAllIds();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Dealer d WHERE d.id = :dealerId")
+    int deleteInBulkById(@Param("dealerId") Long dealerId);
 
     boolean existsByName(@NotBlank(message = "Dealer name cannot be empty")
                          @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
@@ -0,0 +1,190 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.CursorPage;
+import com.example.cardealer.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset (seek) pagination over any entity with a {@code Long id}.
+ * Every page is fetched with {@code WHERE key >= :key AND (key > :key OR key = :key AND id > :id)
+ * ORDER BY key, id LIMIT n}, the expansion of {@code (key, id) > (:key, :id)}; the redundant
+ * {@code key >= :key} is what the database uses as the start of the index range, so deep pages
+ * cost the same as the first one when {@code (key, id)} is indexed.
+ */
+@Repository
+public class KeysetPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetches one page of entities.
+     *
+     * @param type entity class
+     * @param sortKeys allowed sort keys mapped to the entity value extractors
+     * @param sort requested sort key
+     * @param direction "asc" or "desc"
+     * @param cursor opaque cursor from the previous page (optional)
+     * @param limit requested page size (optional, capped at {@link #MAX_PAGE_SIZE})
+     * @param <T> entity type
+     * @return page of entities with the cursor of the next page
+     */
+    public <T> CursorPage<T> page(Class<T> type,
+                                  Map<String, Function<T, Object>> sortKeys,
+                                  String sort,
+                                  String direction,
+                                  String cursor,
+                                  Integer limit) {
+        return page(type, null, sortKeys, sort, direction, cursor, limit);
+    }
+
+    /**
+     * Fetches one page of the entities matching a filter.
+     * The filter is added to the seek predicate, so an index on {@code (filter column, key, id)}
+     * keeps deep pages as cheap as the first one.
+     *
+     * @param type entity class
+     * @param filter restriction of the listed entities ({@code null} for none)
+     * @param sortKeys allowed sort keys mapped to the entity value extractors
+     * @param sort requested sort key
+     * @param direction "asc" or "desc"
+     * @param cursor opaque cursor from the previous page (optional)
+     * @param limit requested page size (optional, capped at {@link #MAX_PAGE_SIZE})
+     * @param <T> entity type
+     * @return page of entities with the cursor of the next page
+     */
+    public <T> CursorPage<T> page(Class<T> type,
+                                  Specification<T> filter,
+                                  Map<String, Function<T, Object>> sortKeys,
+                                  String sort,
+                                  String direction,
+                                  String cursor,
+                                  Integer limit) {
+        Function<T, Object> keyExtractor = sortKeys.get(sort);
+        if (keyExtractor == null) {
+            throw new ValidationException(ErrorMessages.INVALID_SORT_KEY + sort);
+        }
+        boolean ascending = !"desc".equalsIgnoreCase(direction);
+        int pageSize = limit == null || limit < 1 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<Comparable<Object>> key = root.get(sort);
+        Path<Long> id = root.get(ID);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate restriction = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (restriction != null) {
+            predicates.add(restriction);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor, sort, ascending);
+            Comparable<Object> lastKey = parseKey(parts[2], key.getJavaType());
+            Long lastId = parseId(parts[3]);
+            predicates.add(seek(cb, key, id, lastKey, lastId, ascending, ID.equals(sort)));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        if (ascending) {
+            query.orderBy(ID.equals(sort) ? List.of(cb.asc(id)) : List.of(cb.asc(key), cb.asc(id)));
+        } else {
+            query.orderBy(ID.equals(sort) ? List.of(cb.desc(id)) : List.of(cb.desc(key), cb.desc(id)));
+        }
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        Long lastId = (Long) sortKeys.get(ID).apply(last);
+        return new CursorPage<>(items, encode(sort, ascending, keyExtractor.apply(last), lastId));
+    }
+
+    private Predicate seek(CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id,
+                           Comparable<Object> lastKey, Long lastId, boolean ascending, boolean byId) {
+        Predicate idBeyond = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (byId) {
+            return idBeyond;
+        }
+        Predicate keyBeyond = ascending ? cb.greaterThan(key, lastKey) : cb.lessThan(key, lastKey);
+        Predicate keyFrom = ascending ? cb.greaterThanOrEqualTo(key, lastKey) : cb.lessThanOrEqualTo(key, lastKey);
+        return cb.and(keyFrom, cb.or(keyBeyond, cb.and(cb.equal(key, lastKey), idBeyond)));
+    }
+
+    private String encode(String sort, boolean ascending, Object keyValue, Long id) {
+        Object value = keyValue instanceof Date date ? date.getTime() : keyValue;
+        String raw = sort + SEPARATOR + (ascending ? "asc" : "desc") + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decode(String cursor, String sort, boolean ascending) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(ErrorMessages.INVALID_CURSOR);
+        }
+        if (parts.length != 4 || !parts[0].equals(sort)
+                || !parts[1].equals(ascending ? "asc" : "desc")) {
+            throw new ValidationException(ErrorMessages.INVALID_CURSOR);
+        }
+        return parts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> parseKey(String value, Class<?> javaType) {
+        try {
+            Object parsed;
+            if (javaType == Long.class || javaType == long.class) {
+                parsed = Long.valueOf(value);
+            } else if (javaType == Integer.class || javaType == int.class) {
+                parsed = Integer.valueOf(value);
+            } else if (javaType == Double.class || javaType == double.class) {
+                parsed = Double.valueOf(value);
+            } else if (Date.class.isAssignableFrom(javaType)) {
+                parsed = new Date(Long.parseLong(value));
+            } else {
+                parsed = value;
+            }
+            return (Comparable<Object>) parsed;
+        } catch (NumberFormatException e) {
+            throw new ValidationException(ErrorMessages.INVALID_CURSOR);
+        }
+    }
+
+    private Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException(ErrorMessages.INVALID_CURSOR);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.cardealer.repository;
 
 import com.example.cardealer.model.Order;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,22 @@ import org.springframework.stereotype.Repository;
  * Extends {@link JpaRepository} to provide CRUD operations and custom query methods for orders.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId AND o.id <= :upToId ORDER BY o.id")
+    List<Long> findIdsBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+    Long findMaxId();
+
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.id IN :orderIds")
+    int deleteAllByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Order o WHERE o.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
\ No newline at end of file
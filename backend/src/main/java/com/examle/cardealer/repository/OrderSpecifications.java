@@ -0,0 +1,72 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.Car;
+import com.example.cardealer.model.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Date;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates for dynamic {@link Order} searches.
+ * Each factory returns {@code null} for an absent filter, like {@link CarSpecifications}.
+ * Car filters are {@code EXISTS} semi-joins probing {@code cars(order_id, dealer_id)} per order,
+ * so an order with many matching cars is still returned once.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {} // No instances
+
+    public static Specification<Order> userEquals(Long userId) {
+        return userId == null ? null : (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /** Orders dated in {@code [from, until)}. */
+    public static Specification<Order> orderDateBetween(Date from, Date until) {
+        if (from != null && until != null) {
+            return (root, query, cb) -> cb.and(
+                    cb.greaterThanOrEqualTo(root.get("orderDate"), from),
+                    cb.lessThan(root.get("orderDate"), until));
+        }
+        if (from != null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderDate"), from);
+        }
+        if (until != null) {
+            return (root, query, cb) -> cb.lessThan(root.get("orderDate"), until);
+        }
+        return null;
+    }
+
+    public static Specification<Order> totalPriceBetween(Double minPrice, Double maxPrice) {
+        if (minPrice != null && maxPrice != null) {
+            return (root, query, cb) -> cb.between(root.get("totalPrice"), minPrice, maxPrice);
+        }
+        if (minPrice != null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("totalPrice"), minPrice);
+        }
+        if (maxPrice != null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("totalPrice"), maxPrice);
+        }
+        return null;
+    }
+
+    public static Specification<Order> containsCar(Long carId) {
+        return carId == null ? null : (root, query, cb) -> {
+            Subquery<Long> cars = query.subquery(Long.class);
+            Root<Car> car = cars.from(Car.class);
+            cars.select(car.get("id"))
+                    .where(cb.equal(car.get("order"), root), cb.equal(car.get("id"), carId));
+            return cb.exists(cars);
+        };
+    }
+
+    public static Specification<Order> containsCarOfDealer(Long dealerId) {
+        return dealerId == null ? null : (root, query, cb) -> {
+            Subquery<Long> cars = query.subquery(Long.class);
+            Root<Car> car = cars.from(Car.class);
+            cars.select(car.get("id"))
+                    .where(cb.equal(car.get("order"), root), cb.equal(car.get("dealer").get("id"), dealerId));
+            return cb.exists(cars);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for undelivered {@link OutboxEvent} rows.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Advisory lock key held while a transaction numbers its events. */
+    long SEQUENCE_LOCK = 0x6f7574626f780001L;
+
+    /** Advisory lock key held by the instance that dispatches. */
+    long DISPATCH_LOCK = 0x6f7574626f780002L;
+
+    /**
+     * Locks the oldest committed events in delivery order.
+     * Must be called inside a transaction; rows locked by another dispatcher are skipped.
+     *
+     * @param limit maximum number of events
+     * @return locked events
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE delivery_seq IS NOT NULL "
+            + "ORDER BY delivery_seq LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockOldest(@Param("limit") int limit);
+
+    /**
+     * Waits for the given transaction-scoped advisory lock.
+     *
+     * @param key the lock key
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    int lock(@Param("key") long key);
+
+    /**
+     * Takes the given transaction-scoped advisory lock if it is free.
+     *
+     * @param key the lock key
+     * @return whether the lock was taken
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    /**
+     * Numbers the events of the current transaction after all stored numbered events, in ID order.
+     * Called under {@link #SEQUENCE_LOCK} just before the writing transaction commits, so
+     * the numbers of stored events follow commit order and an undelivered event is never
+     * overtaken by a later number.
+     *
+     * @return number of numbered events
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(value = "UPDATE outbox_events e SET delivery_seq = n.base + n.rn "
+            + "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn, "
+            + "(SELECT COALESCE(MAX(delivery_seq), 0) FROM outbox_events) AS base "
+            + "FROM outbox_events WHERE tx_key = txid_current()) n "
+            + "WHERE e.id = n.id", nativeQuery = true)
+    int assignDeliverySeq();
+}
@@ -0,0 +1,38 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.SalesRollupBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@link SalesRollupBackfill} progress row.
+ * Backfill chunks hold {@link #LOCK_KEY} exclusively and incremental rollup changes hold it
+ * shared until their transaction ends, so an order is never counted by both while the
+ * backfill runs.
+ */
+@Repository
+public interface SalesRollupBackfillRepository extends JpaRepository<SalesRollupBackfill, Long> {
+
+    /** Advisory lock key guarding the backfill progress. */
+    long LOCK_KEY = 0x726f6c6c75700001L;
+
+    /**
+     * Waits for the transaction-scoped advisory lock in exclusive mode.
+     *
+     * @param key the lock key
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    int lock(@Param("key") long key);
+
+    /**
+     * Waits for the transaction-scoped advisory lock in shared mode.
+     *
+     * @param key the lock key
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:key)", nativeQuery = true)
+    int lockShared(@Param("key") long key);
+}
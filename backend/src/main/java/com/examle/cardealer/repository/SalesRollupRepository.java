@@ -0,0 +1,51 @@
+package com.example.cardealer.repository;
+
+import com.example.cardealer.model.SalesRollup;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for {@link SalesRollup} rows.
+ * Changes are single-statement upserts, so concurrent orders never lose each other's deltas.
+ * Reads are range scans of the unique index, which leads with the sale date.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Query("SELECT r FROM SalesRollup r WHERE r.saleDate BETWEEN :from AND :to AND r.orderCount > 0 "
+            + "ORDER BY r.saleDate, r.dealerId, r.brandKey")
+    List<SalesRollup> findSales(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM SalesRollup r WHERE r.saleDate BETWEEN :from AND :to AND r.dealerId = :dealerId "
+            + "AND r.orderCount > 0 ORDER BY r.saleDate, r.brandKey")
+    List<SalesRollup> findSalesByDealerId(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("dealerId") Long dealerId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_rollup"))
+    @Query(value = "INSERT INTO sales_rollup "
+            + "(sale_date, dealer_id, brand_key, brand, order_count, cars_sold, revenue) "
+            + "VALUES (:saleDate, :dealerId, :brandKey, :brand, :orderCount, :carsSold, :revenue) "
+            + "ON CONFLICT (sale_date, dealer_id, brand_key) DO UPDATE SET "
+            + "brand = EXCLUDED.brand, "
+            + "order_count = sales_rollup.order_count + EXCLUDED.order_count, "
+            + "cars_sold = sales_rollup.cars_sold + EXCLUDED.cars_sold, "
+            + "revenue = sales_rollup.revenue + EXCLUDED.revenue",
+            nativeQuery = true)
+    int addDelta(@Param("saleDate") LocalDate saleDate,
+                 @Param("dealerId") Long dealerId,
+                 @Param("brandKey") String brandKey,
+                 @Param("brand") String brand,
+                 @Param("orderCount") long orderCount,
+                 @Param("carsSold") long carsSold,
+                 @Param("revenue") double revenue);
+}
@@ -1,10 +1,18 @@
 package com.example.cardealer.repository;
 
 import com.example.cardealer.model.User;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,10 +21,52 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * ID of an entity related to a user.
+     */
+    interface OwnedId {
+        Long getOwnerId();
+
+        Long getId();
+    }
+
+    /**
+     * Number of entities related to a user.
+     */
+    interface OwnerCount {
+        Long getOwnerId();
+
+        Long getTotal();
+    }
+
     boolean existsByUsername(@NotBlank(message = "Username cannot be blank")
                              @Size(min = 3, max = 20, message = "Username must be between 3 and 20 characters")
                              @Pattern(
                                      regexp = "^\\w+$",
                                      message = "Username can only contain letters, numbers and underscores"
                              ) String username);
+
+    @Query("SELECT u.id AS ownerId, f.id AS id FROM User u JOIN u.favoriteCars f WHERE u.id IN :userIds")
+    List<OwnedId> findFavoriteIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT u.id AS ownerId, COUNT(f) AS total FROM User u JOIN u.favoriteCars f "
+            + "WHERE u.id IN :userIds GROUP BY u.id")
+    List<OwnerCount> countFavoritesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT o.user.id AS ownerId, o.id AS id FROM Order o WHERE o.user.id IN :userIds")
+    List<OwnedId> findOrderIdsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT o.user.id AS ownerId, COUNT(o) AS total FROM Order o "
+            + "WHERE o.user.id IN :userIds GROUP BY o.user.id")
+    List<OwnerCount> countOrdersByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorite_car"))
+    @Query(value = "DELETE FROM user_favorite_car WHERE user_id = :userId", nativeQuery = true)
+    int deleteFavoritesByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :userId")
+    int deleteInBulkById(@Param("userId") Long userId);
 }
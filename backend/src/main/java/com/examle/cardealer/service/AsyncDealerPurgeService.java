@@ -0,0 +1,50 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.model.PurgeTask;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/** Class to delete large dealers in the background. */
+@Service
+public class AsyncDealerPurgeService {
+    static final int CHUNK_SIZE = 500;
+
+    private final DealerService dealerService;
+
+    /** Constructor of the class. */
+    public AsyncDealerPurgeService(DealerService dealerService) {
+        this.dealerService = dealerService;
+    }
+
+    /** Function to delete a dealer chunk by chunk.
+     * Every chunk of cars is deleted in its own short transaction, so locks are held
+     * briefly and the progress is visible after every chunk.
+     *
+     * @param taskId id of the task
+     * @param dealerId id of the dealer
+     * @param totalCars number of cars when the task started
+     * @param purgeCache cache where purge tasks stored
+     */
+    @Async("taskExecutor")
+    public void purgeDealer(Long taskId, Long dealerId, long totalCars, Cache purgeCache) {
+        long deletedCars = 0;
+        try {
+            while (true) {
+                int deleted = dealerService.deleteDealerCarsChunk(dealerId, CHUNK_SIZE);
+                deletedCars += deleted;
+                if (deleted == 0 && dealerService.deleteDealerIfEmpty(dealerId)) {
+                    break;
+                }
+                purgeCache.put(taskId, new PurgeTask(taskId, dealerId, "IN_PROGRESS",
+                        Math.max(totalCars, deletedCars), deletedCars));
+            }
+            purgeCache.put(taskId, new PurgeTask(taskId, dealerId, "COMPLETED",
+                    Math.max(totalCars, deletedCars), deletedCars));
+        } catch (RuntimeException e) {
+            PurgeTask task = new PurgeTask(taskId, dealerId, "FAILED", Math.max(totalCars, deletedCars), deletedCars);
+            task.setErrorMessage(e.getMessage());
+            purgeCache.put(taskId, task);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.CacheRegions;
+import com.example.cardealer.dto.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+/** Class to read Hibernate second-level cache statistics. */
+@Service
+public class CacheStatsService {
+
+    private static final List<String> REGIONS = List.of(
+            CacheRegions.CARS,
+            CacheRegions.DEALERS,
+            CacheRegions.USERS,
+            CacheRegions.DEALER_CARS,
+            CacheRegions.USER_FAVORITE_CARS,
+            CacheRegions.CAR_FAVORITED_BY);
+
+    private final Statistics statistics;
+
+    /**
+     * Constructor for CacheStatsService.
+     *
+     * @param entityManagerFactory the entity manager factory
+     */
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns hit and miss counts of every entity cache region plus a total row.
+     *
+     * @return statistics per region, the last row named "total"
+     */
+    public List<CacheRegionStatsDto> getRegionStats() {
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics != null) {
+                result.add(toDto(region,
+                        regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(),
+                        regionStatistics.getElementCountInMemory()));
+            }
+        }
+        result.add(toDto("total",
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                result.stream().mapToLong(CacheRegionStatsDto::getSize).sum()));
+        return result;
+    }
+
+    private static CacheRegionStatsDto toDto(String region, long hits, long misses, long puts, long size) {
+        long lookups = hits + misses;
+        double hitRatio = lookups == 0 ? 0 : (double) hits / lookups;
+        return new CacheRegionStatsDto(region, hits, misses, puts, Math.max(size, 0), hitRatio);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.mapper.CarMapper;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.repository.CarRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for exporting the car inventory as newline-delimited JSON.
+ */
+@Service
+public class CarExportService {
+
+    /** Rows mapped and written between persistence context clears. */
+    private static final int CHUNK_SIZE = 500;
+
+    private static final byte NEW_LINE = '\n';
+
+    private final CarRepository carRepository;
+    private final CarMapper carMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor for CarExportService.
+     *
+     * @param carRepository the car repository
+     * @param carMapper     the car mapper
+     * @param objectMapper  the JSON mapper
+     */
+    public CarExportService(CarRepository carRepository,
+                            CarMapper carMapper,
+                            ObjectMapper objectMapper) {
+        this.carRepository = carRepository;
+        this.carMapper = carMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every car as one JSON line to the output.
+     * Rows are streamed from the database and detached periodically, so memory use
+     * does not depend on the inventory size.
+     *
+     * @param out destination stream
+     * @return number of exported cars
+     */
+    @Transactional
+    public long exportCars(OutputStream out) {
+        long count = 0;
+        List<Car> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Car> cars = carRepository.streamAllOrderById()) {
+            Iterator<Car> iterator = cars.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(chunk, out);
+                }
+            }
+            count += writeChunk(chunk, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private int writeChunk(List<Car> chunk, OutputStream out) throws IOException {
+        int written = chunk.size();
+        for (CarDto carDto : carMapper.toDtos(chunk)) {
+            out.write(objectMapper.writeValueAsBytes(carDto));
+            out.write(NEW_LINE);
+        }
+        out.flush();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.CarImportErrorDto;
+import com.example.cardealer.dto.CarImportReportDto;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.model.Dealer;
+import com.example.cardealer.model.OutboxEvent;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.DealerRepository;
+import com.example.cardealer.util.TransactionHooks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.Cache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for importing large car feeds line by line.
+ * Rows are validated in parallel, dealers are resolved from a preloaded ID set and
+ * every chunk is inserted with one statement in its own transaction. Bad rows, including
+ * rows that lose a race with a concurrent write, are reported instead of failing the upload.
+ */
+@Service
+public class CarImportService {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String CSV_HEADER = "vin,model,brand,year,price,color,mileage,dealerId";
+    private static final String DEALER_CARS_ROLE = Dealer.class.getName() + ".cars";
+    // Rows whose VIN was taken or whose dealer was deleted since the checks are skipped, not failed
+    private static final String INSERT_SQL = "INSERT INTO cars "
+            + "(vin, model, brand, brand_key, year, price, color, mileage, dealer_id, version) "
+            + "SELECT r.vin, r.model, r.brand, r.brand_key, r.year, r.price, r.color, r.mileage, r.dealer_id, 0 "
+            + "FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::int4[], ?::float8[], ?::text[], "
+            + "?::float8[], ?::int8[]) AS r(vin, model, brand, brand_key, year, price, color, mileage, dealer_id) "
+            + "JOIN dealers d ON d.id = r.dealer_id "
+            + "ON CONFLICT (vin) DO NOTHING "
+            + "RETURNING id, vin";
+
+    private final CarValidator carValidator;
+    private final CarRepository carRepository;
+    private final DealerRepository dealerRepository;
+    private final CarSearchIndex carSearchIndex;
+    private final CarSuggestionIndex carSuggestionIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache entityCache;
+    private final DealerBrandCache dealerBrandCache;
+    private final DealerStatsService dealerStatsService;
+    private final DomainEventPublisher eventPublisher;
+
+    /**
+     * Constructor for CarImportService.
+     *
+     * @param carValidator         the car validator
+     * @param carRepository        the car repository
+     * @param dealerRepository     the dealer repository
+     * @param carSearchIndex       the faceted search index
+     * @param carSuggestionIndex   the brand/model typeahead index
+     * @param jdbcTemplate         the JDBC template
+     * @param transactionTemplate  the transaction template
+     * @param objectMapper         the JSON mapper
+     * @param entityManagerFactory the entity manager factory
+     * @param dealerBrandCache     the brand to dealer IDs cache
+     * @param dealerStatsService   the dealer statistics service
+     * @param eventPublisher       the domain event publisher
+     */
+    public CarImportService(CarValidator carValidator,
+                            CarRepository carRepository,
+                            DealerRepository dealerRepository,
+                            CarSearchIndex carSearchIndex,
+                            CarSuggestionIndex carSuggestionIndex,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            EntityManagerFactory entityManagerFactory,
+                            DealerBrandCache dealerBrandCache,
+                            DealerStatsService dealerStatsService,
+                            DomainEventPublisher eventPublisher) {
+        this.carValidator = carValidator;
+        this.carRepository = carRepository;
+        this.dealerRepository = dealerRepository;
+        this.carSearchIndex = carSearchIndex;
+        this.carSuggestionIndex = carSuggestionIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.entityCache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.dealerBrandCache = dealerBrandCache;
+        this.dealerStatsService = dealerStatsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports cars from a CSV or NDJSON stream.
+     * CSV input must start with the header {@value #CSV_HEADER}.
+     *
+     * @param input       uploaded data
+     * @param contentType {@value #CSV} or {@value #NDJSON}
+     * @return import report with per-row errors
+     * @throws IOException if the input cannot be read
+     */
+    public CarImportReportDto importCars(InputStream input, String contentType) throws IOException {
+        boolean csv = contentType != null && contentType.startsWith(CSV);
+        Set<Long> dealerIds = new HashSet<>(dealerRepository.findAllIds());
+        Set<String> seenVins = new HashSet<>();
+        CarImportReportDto report = new CarImportReportDto();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            if (csv) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null || !CSV_HEADER.equalsIgnoreCase(header.trim())) {
+                    throw new ValidationException(ErrorMessages.INVALID_IMPORT_HEADER + CSV_HEADER);
+                }
+            }
+
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(new ImportRow(lineNumber, line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, csv, dealerIds, seenVins, report);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, csv, dealerIds, seenVins, report);
+        }
+        return report;
+    }
+
+    private void processChunk(List<ImportRow> chunk, boolean csv, Set<Long> dealerIds,
+                              Set<String> seenVins, CarImportReportDto report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        report.setTotalRows(report.getTotalRows() + chunk.size());
+
+        chunk.parallelStream().forEach(row -> parseAndValidate(row, csv, dealerIds));
+
+        List<ImportRow> valid = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (row.error == null && !seenVins.add(row.car.getVin())) {
+                row.error = ErrorMessages.DUPLICATE_VIN_IN_IMPORT + row.car.getVin();
+            }
+            if (row.error == null) {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                insertChunk(valid);
+            } catch (DataIntegrityViolationException e) {
+                // Some row still violates a constraint: insert row by row so only that row is rejected
+                for (ImportRow row : valid) {
+                    row.error = null;
+                    try {
+                        insertChunk(List.of(row));
+                    } catch (DataIntegrityViolationException rowError) {
+                        row.error = ErrorMessages.INVALID_IMPORT_ROW + rowError.getMostSpecificCause().getMessage();
+                    }
+                }
+            }
+            report.setImported(report.getImported() + valid.stream().filter(row -> row.error == null).count());
+        }
+
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                report.setRejected(report.getRejected() + 1);
+                if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    String vin = row.car != null ? row.car.getVin() : null;
+                    report.getErrors().add(new CarImportErrorDto(row.line, vin, row.error));
+                }
+            }
+        }
+    }
+
+    private void parseAndValidate(ImportRow row, boolean csv, Set<Long> dealerIds) {
+        try {
+            row.car = csv ? parseCsv(row.text) : objectMapper.readValue(row.text, CarDto.class);
+            carValidator.validate(row.car);
+            if (row.car.getDealerId() == null || !dealerIds.contains(row.car.getDealerId())) {
+                row.error = ErrorMessages.DEALER_NOT_FOUND + row.car.getDealerId();
+            }
+        } catch (ValidationException e) {
+            row.error = e.getMessage();
+        } catch (JsonProcessingException | RuntimeException e) {
+            row.error = ErrorMessages.INVALID_IMPORT_ROW + e.getMessage();
+        }
+    }
+
+    private CarDto parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 8) {
+            throw new ValidationException(ErrorMessages.INVALID_IMPORT_ROW + "expected 8 columns");
+        }
+        CarDto carDto = new CarDto();
+        carDto.setVin(fields.get(0).trim());
+        carDto.setModel(fields.get(1).trim());
+        carDto.setBrand(fields.get(2).trim());
+        carDto.setYear(Integer.parseInt(fields.get(3).trim()));
+        carDto.setPrice(Double.parseDouble(fields.get(4).trim()));
+        carDto.setColor(fields.get(5).trim());
+        carDto.setMileage(Double.parseDouble(fields.get(6).trim()));
+        carDto.setDealerId(Long.parseLong(fields.get(7).trim()));
+        return carDto;
+    }
+
+    /**
+     * Splits one CSV line. A field may be enclosed in double quotes to contain commas,
+     * with {@code ""} standing for a quote; quoted line breaks are not supported.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (c == '"') {
+                throw new ValidationException(ErrorMessages.INVALID_IMPORT_ROW
+                        + "unexpected quote in column " + (fields.size() + 1));
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException(ErrorMessages.INVALID_IMPORT_ROW + "unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void insertChunk(List<ImportRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Long> ids = new HashMap<>();
+            jdbcTemplate.query(connection -> insertStatement(connection, rows),
+                    (RowCallbackHandler) rs -> ids.put(rs.getString("vin"), rs.getLong("id")));
+
+            List<ImportRow> skipped = rows.stream().filter(row -> !ids.containsKey(row.car.getVin())).toList();
+            if (!skipped.isEmpty()) {
+                Set<String> existing = new HashSet<>(carRepository.findExistingVins(
+                        skipped.stream().map(row -> row.car.getVin()).toList()));
+                for (ImportRow row : skipped) {
+                    row.error = existing.contains(row.car.getVin())
+                            ? ErrorMessages.VIN_ALREADY_EXISTS + row.car.getVin()
+                            : ErrorMessages.DEALER_NOT_FOUND + row.car.getDealerId();
+                }
+            }
+            List<ImportRow> insertedRows = rows.stream().filter(row -> row.error == null).toList();
+            if (insertedRows.isEmpty()) {
+                return;
+            }
+
+            List<Car> inserted = insertedRows.stream().map(row -> toCar(row.car, ids.get(row.car.getVin()))).toList();
+            inserted.forEach(carSearchIndex::indexAfterCommit);
+            inserted.forEach(car -> carSuggestionIndex.addAfterCommit(car.getId(), car.getBrand(), car.getModel()));
+            dealerBrandCache.evictAfterCommit(inserted.stream().map(Car::getBrand).toList());
+            dealerStatsService.carsAdded(inserted);
+            eventPublisher.publishAll(OutboxEvent.Aggregate.CAR, inserted.stream().map(Car::getId).toList(),
+                    OutboxEvent.Type.CREATED);
+
+            // JDBC inserts bypass Hibernate, so cached dealer car lists are dropped explicitly.
+            Set<Long> dealerIds = insertedRows.stream().map(row -> row.car.getDealerId()).collect(Collectors.toSet());
+            TransactionHooks.afterCommit(() -> dealerIds.forEach(
+                    dealerId -> entityCache.evictCollectionData(DEALER_CARS_ROLE, dealerId)));
+        });
+    }
+
+    private static PreparedStatement insertStatement(Connection connection, List<ImportRow> rows)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+        statement.setArray(1, connection.createArrayOf("text", column(rows, CarDto::getVin)));
+        statement.setArray(2, connection.createArrayOf("text", column(rows, CarDto::getModel)));
+        statement.setArray(3, connection.createArrayOf("text", column(rows, CarDto::getBrand)));
+        statement.setArray(4, connection.createArrayOf("text",
+                column(rows, car -> Car.normalizeBrand(car.getBrand()))));
+        statement.setArray(5, connection.createArrayOf("int4", column(rows, CarDto::getYear)));
+        statement.setArray(6, connection.createArrayOf("float8", column(rows, CarDto::getPrice)));
+        statement.setArray(7, connection.createArrayOf("text", column(rows, CarDto::getColor)));
+        statement.setArray(8, connection.createArrayOf("float8", column(rows, CarDto::getMileage)));
+        statement.setArray(9, connection.createArrayOf("int8", column(rows, CarDto::getDealerId)));
+        return statement;
+    }
+
+    private static Object[] column(List<ImportRow> rows, Function<CarDto, Object> value) {
+        return rows.stream().map(row -> value.apply(row.car)).toArray();
+    }
+
+    /** The inserted car as an entity for the index and statistics hooks; it is never persisted. */
+    private Car toCar(CarDto carDto, Long id) {
+        Car car = new Car();
+        car.setId(id);
+        car.setVin(carDto.getVin());
+        car.setModel(carDto.getModel());
+        car.setBrand(carDto.getBrand());
+        car.setBrandKey(Car.normalizeBrand(carDto.getBrand()));
+        car.setYear(carDto.getYear());
+        car.setPrice(carDto.getPrice());
+        car.setColor(carDto.getColor());
+        car.setMileage(carDto.getMileage());
+        car.setDealer(dealerRepository.getReferenceById(carDto.getDealerId()));
+        return car;
+    }
+
+    /** One line of the upload and its parsing outcome. */
+    private static final class ImportRow {
+        private final long line;
+        private final String text;
+        private CarDto car;
+        private String error;
+
+        private ImportRow(long line, String text) {
+            this.line = line;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.dto.CarSearchResultDto;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.util.TransactionHooks;
+import jakarta.transaction.Transactional;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory faceted search index over cars.
+ * Every facet value owns a bitmap of dense car ordinals, so a multi-facet filter is a
+ * handful of bitwise AND/OR operations and facet counts are bitmap cardinalities.
+ * The index is built on startup and then kept current by car writes. A rebuild fills a new
+ * index while the old one keeps serving; writes committed meanwhile are applied to both and
+ * replayed onto the new one before it is swapped in.
+ */
+@Service
+public class CarSearchIndex {
+
+    public static final String BRAND = "brand";
+    public static final String MODEL = "model";
+    public static final String COLOR = "color";
+    public static final String YEAR = "year";
+    public static final String PRICE = "price";
+    public static final String MILEAGE = "mileage";
+
+    public static final List<String> FACETS = List.of(BRAND, MODEL, COLOR, YEAR, PRICE, MILEAGE);
+
+    private static final int YEAR_BUCKET = 5;
+    private static final int PRICE_BUCKET = 10_000;
+    private static final int MILEAGE_BUCKET = 25_000;
+
+    private final CarRepository carRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    /** Changes committed while a rebuild runs, {@code null} when none runs. */
+    private List<Consumer<Index>> pending;
+
+    /**
+     * Constructor for CarSearchIndex.
+     *
+     * @param carRepository the car repository
+     */
+    public CarSearchIndex(CarRepository carRepository) {
+        this.carRepository = carRepository;
+    }
+
+    /**
+     * Builds the index from the database once the application is started.
+     * Changes are recorded from before the rows are read, so a car written during the rebuild
+     * ends up with its committed state whether or not the read saw it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try (Stream<CarRepository.SearchAttributes> cars = carRepository.streamSearchAttributes()) {
+            cars.forEach(car -> rebuilt.put(car.getId(), toDocument(car.getBrand(), car.getModel(), car.getColor(),
+                    car.getYear(), car.getPrice(), car.getMileage())));
+        } catch (RuntimeException e) {
+            swap(null);
+            throw e;
+        }
+        swap(rebuilt);
+    }
+
+    /**
+     * Adds or replaces a car in the index after the current transaction commits.
+     *
+     * @param car the saved car
+     */
+    public void indexAfterCommit(Car car) {
+        Map<String, String> document = toDocument(car.getBrand(), car.getModel(), car.getColor(),
+                car.getYear(), car.getPrice(), car.getMileage());
+        Long id = car.getId();
+        TransactionHooks.afterCommit(() -> apply(current -> current.put(id, document)));
+    }
+
+    /**
+     * Adds or replaces cars in the index after the current transaction commits.
+     *
+     * @param cars search attributes of the saved cars
+     */
+    public void indexAllAfterCommit(List<CarRepository.SearchAttributes> cars) {
+        Map<Long, Map<String, String>> documents = new LinkedHashMap<>();
+        for (CarRepository.SearchAttributes car : cars) {
+            documents.put(car.getId(), toDocument(car.getBrand(), car.getModel(), car.getColor(),
+                    car.getYear(), car.getPrice(), car.getMileage()));
+        }
+        TransactionHooks.afterCommit(() -> apply(current -> documents.forEach(current::put)));
+    }
+
+    /**
+     * Removes a car from the index after the current transaction commits.
+     *
+     * @param carId the deleted car ID
+     */
+    public void removeAfterCommit(Long carId) {
+        TransactionHooks.afterCommit(() -> apply(current -> current.remove(carId)));
+    }
+
+    /**
+     * Finds cars matching the selected facet values.
+     * Values of one facet are combined with OR, different facets with AND. Counts of a
+     * facet ignore that facet's own selection, so the client can widen it.
+     *
+     * @param filters selected values per facet
+     * @param limit maximum number of returned car IDs
+     * @return matching car IDs, total count and per-facet counts
+     */
+    public CarSearchResultDto search(Map<String, List<String>> filters, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> selections = new HashMap<>();
+            for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
+                if (filter.getValue() != null && !filter.getValue().isEmpty()) {
+                    selections.put(filter.getKey(), index.union(filter.getKey(), filter.getValue()));
+                }
+            }
+
+            BitSet matches = index.intersectExcept(selections, null);
+            List<Long> ids = new ArrayList<>();
+            for (int i = matches.nextSetBit(0); i >= 0 && ids.size() < limit; i = matches.nextSetBit(i + 1)) {
+                ids.add(index.carIds.get(i));
+            }
+
+            Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                BitSet base = selections.containsKey(facet) ? index.intersectExcept(selections, facet) : matches;
+                Map<String, Integer> counts = new TreeMap<>();
+                for (Map.Entry<String, BitSet> value : index.postings.get(facet).entrySet()) {
+                    BitSet hits = (BitSet) value.getValue().clone();
+                    hits.and(base);
+                    int count = hits.cardinality();
+                    if (count > 0) {
+                        counts.put(value.getKey(), count);
+                    }
+                }
+                facetCounts.put(facet, counts);
+            }
+
+            return new CarSearchResultDto(matches.cardinality(), ids, facetCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replays the recorded changes onto a rebuilt index and makes it current; {@code null} keeps the old one. */
+    private void swap(Index rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                pending.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, String> toDocument(String brand, String model, String color,
+                                                  int year, double price, double mileage) {
+        Map<String, String> document = new HashMap<>();
+        document.put(BRAND, normalize(BRAND, brand));
+        document.put(MODEL, normalize(MODEL, model));
+        document.put(COLOR, normalize(COLOR, color));
+        document.put(YEAR, bucket(year, YEAR_BUCKET));
+        document.put(PRICE, bucket(price, PRICE_BUCKET));
+        document.put(MILEAGE, bucket(mileage, MILEAGE_BUCKET));
+        return document;
+    }
+
+    private static String normalize(String facet, String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        return BRAND.equals(facet) || MODEL.equals(facet) || COLOR.equals(facet)
+                ? trimmed.toLowerCase(Locale.ROOT)
+                : trimmed;
+    }
+
+    private static String bucket(double value, int size) {
+        long from = (long) Math.floor(value / size) * size;
+        return from + "-" + (from + size - 1);
+    }
+
+    /** Postings and documents of one generation of the index, guarded by the service lock. */
+    private static final class Index {
+        private final Map<String, Map<String, BitSet>> postings = new HashMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final List<Long> carIds = new ArrayList<>();
+        private final List<Map<String, String>> documents = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+
+        private Index() {
+            for (String facet : FACETS) {
+                postings.put(facet, new HashMap<>());
+            }
+        }
+
+        private void put(Long carId, Map<String, String> document) {
+            Integer ordinal = ordinals.get(carId);
+            if (ordinal != null) {
+                unlink(ordinal);
+            } else {
+                ordinal = freeOrdinals.isEmpty() ? carIds.size() : freeOrdinals.pop();
+                ordinals.put(carId, ordinal);
+                if (ordinal == carIds.size()) {
+                    carIds.add(carId);
+                    documents.add(document);
+                } else {
+                    carIds.set(ordinal, carId);
+                }
+            }
+            documents.set(ordinal, document);
+            for (Map.Entry<String, String> facet : document.entrySet()) {
+                postings.get(facet.getKey())
+                        .computeIfAbsent(facet.getValue(), value -> new BitSet())
+                        .set(ordinal);
+            }
+            live.set(ordinal);
+        }
+
+        private void remove(Long carId) {
+            Integer ordinal = ordinals.remove(carId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                live.clear(ordinal);
+                documents.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        }
+
+        private void unlink(int ordinal) {
+            Map<String, String> document = documents.get(ordinal);
+            if (document == null) {
+                return;
+            }
+            for (Map.Entry<String, String> facet : document.entrySet()) {
+                Map<String, BitSet> values = postings.get(facet.getKey());
+                BitSet bitmap = values.get(facet.getValue());
+                if (bitmap != null) {
+                    bitmap.clear(ordinal);
+                    if (bitmap.isEmpty()) {
+                        values.remove(facet.getValue());
+                    }
+                }
+            }
+        }
+
+        private BitSet union(String facet, List<String> values) {
+            BitSet result = new BitSet();
+            Map<String, BitSet> facetPostings = postings.get(facet);
+            if (facetPostings == null) {
+                return result;
+            }
+            for (String value : values) {
+                BitSet bitmap = facetPostings.get(normalize(facet, value));
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+
+        private BitSet intersectExcept(Map<String, BitSet> selections, String skippedFacet) {
+            BitSet result = (BitSet) live.clone();
+            for (Map.Entry<String, BitSet> selection : selections.entrySet()) {
+                if (!selection.getKey().equals(skippedFacet)) {
+                    result.and(selection.getValue());
+                }
+            }
+            return result;
+        }
+    }
+}
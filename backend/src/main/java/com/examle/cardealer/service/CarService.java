@@ -3,21 +3,31 @@ package com.example.cardealer.service;
 
 import com.example.cardealer.constants.ErrorMessages;
 import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.CarFilterDto;
+import com.example.cardealer.dto.CursorPage;
+import com.example.cardealer.dto.Tagged;
 import com.example.cardealer.exception.ConflictException;
+import com.example.cardealer.exception.PreconditionFailedException;
 import com.example.cardealer.exception.ResourceNotFoundException;
 import com.example.cardealer.exception.ValidationException;
 import com.example.cardealer.mapper.CarMapper;
 import com.example.cardealer.model.Car;
 import com.example.cardealer.model.Order;
-import com.example.cardealer.model.User;
+import com.example.cardealer.model.OutboxEvent;
 import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.CarSpecifications;
+import com.example.cardealer.repository.KeysetPager;
 import com.example.cardealer.repository.OrderRepository;
-import com.example.cardealer.repository.UserRepository;
+import com.example.cardealer.util.ETags;
 import jakarta.transaction.Transactional;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 
@@ -28,11 +38,23 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class CarService {
 
+    static final Map<String, Function<Car, Object>> SORT_KEYS = Map.of(
+            "id", Car::getId,
+            "price", Car::getPrice,
+            "year", Car::getYear,
+            "mileage", Car::getMileage);
+
     private final CarRepository carRepository;
     private final CarMapper carMapper;
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
-
+    private final KeysetPager keysetPager;
+    private final CarSearchIndex carSearchIndex;
+    private final CarValidator carValidator;
+    private final CarSuggestionIndex carSuggestionIndex;
+    private final DealerBrandCache dealerBrandCache;
+    private final DealerStatsService dealerStatsService;
+    private final SalesRollupService salesRollupService;
+    private final DomainEventPublisher eventPublisher;
 
     /**
      * Constructor for CarService.
@@ -40,39 +62,80 @@ public class CarService {
      * @param carRepository    the car repository
      * @param carMapper        the car mapper
      * @param orderRepository  the order repository
-     * @param userRepository   the user repository
+     * @param keysetPager      the keyset pager
+     * @param carSearchIndex   the faceted search index
+     * @param carValidator     the car validator
+     * @param carSuggestionIndex the brand/model typeahead index
+     * @param dealerBrandCache the brand to dealer IDs cache
+     * @param dealerStatsService the dealer statistics service
+     * @param salesRollupService the sales rollup service
+     * @param eventPublisher the domain event publisher
      */
     public CarService(CarRepository carRepository,
                       CarMapper carMapper,
                       OrderRepository orderRepository,
-                      UserRepository userRepository) {
+                      KeysetPager keysetPager,
+                      CarSearchIndex carSearchIndex,
+                      CarValidator carValidator,
+                      CarSuggestionIndex carSuggestionIndex,
+                      DealerBrandCache dealerBrandCache,
+                      DealerStatsService dealerStatsService,
+                      SalesRollupService salesRollupService,
+                      DomainEventPublisher eventPublisher) {
         this.carRepository = carRepository;
         this.carMapper = carMapper;
         this.orderRepository = orderRepository;
-        this.userRepository = userRepository;
+        this.keysetPager = keysetPager;
+        this.carSearchIndex = carSearchIndex;
+        this.carValidator = carValidator;
+        this.carSuggestionIndex = carSuggestionIndex;
+        this.dealerBrandCache = dealerBrandCache;
+        this.dealerStatsService = dealerStatsService;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<CarDto> getAllCars() {
-        return carRepository.findAll().stream()
-                .map(carMapper::toDto)
-                .toList();
+    /**
+     * Retrieves one page of cars using keyset pagination.
+     *
+     * @param sort        sort key: id, price, year or mileage
+     * @param direction   sort direction: asc or desc
+     * @param cursor      cursor returned with the previous page (optional)
+     * @param limit       page size (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return page of cars and its tag, without the page when the client copy is current
+     */
+    public Tagged<CursorPage<CarDto>> getAllCars(String sort, String direction, String cursor, Integer limit,
+                                                 String ifNoneMatch) {
+        CursorPage<Car> page = keysetPager.page(Car.class, SORT_KEYS, sort, direction, cursor, limit);
+        ETags.Builder tag = ETags.builder().add(page.getNextCursor());
+        for (Car car : page.getItems()) {
+            tag.add(car.getId()).add(car.getVersion());
+        }
+        String etag = tag.build();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, page.mapAll(carMapper::toDtos));
     }
 
-    public CarDto getCarById(Long id) {
+    public Tagged<CarDto> getCarById(Long id, String ifNoneMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_CAR_ID + id);
         }
 
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.CAR_NOT_FOUND + id));
-        return carMapper.toDto(car);
+        String etag = tagOf(car);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, carMapper.toDto(car));
     }
 
     public List<CarDto> createCarsBulk(List<CarDto> carDtos) {
         // Проверка всех DTO перед обработкой
-        for (CarDto dto : carDtos) {
-            validateCarDto(dto);
-        }
+        carValidator.validateAll(carDtos);
 
         // Проверка на существующие VIN в базе
         List<String> vinsToCheck = carDtos.stream()
@@ -94,10 +157,17 @@ public class CarService {
                 .toList();
 
         List<Car> savedCars = carRepository.saveAll(carsToSave);
+        savedCars.forEach(carSearchIndex::indexAfterCommit);
+        savedCars.forEach(car -> carSuggestionIndex.addAfterCommit(car.getId(), car.getBrand(), car.getModel()));
+        dealerBrandCache.evictAfterCommit(savedCars.stream().map(Car::getBrand).toList());
+        dealerStatsService.carsAdded(savedCars);
 
-        return savedCars.stream()
+        List<CarDto> created = savedCars.stream()
                 .map(carMapper::toDto)
                 .toList();
+        created.forEach(car -> eventPublisher.publish(
+                OutboxEvent.Aggregate.CAR, car.getId(), OutboxEvent.Type.CREATED, car));
+        return created;
     }
 
     public CarDto createCar(CarDto carDto) {
@@ -110,11 +180,17 @@ public class CarService {
 
         Car car = carMapper.toEntity(carDto);
         Car savedCar = carRepository.save(car);
-
-        return carMapper.toDto(savedCar);
+        carSearchIndex.indexAfterCommit(savedCar);
+        carSuggestionIndex.addAfterCommit(savedCar.getId(), savedCar.getBrand(), savedCar.getModel());
+        dealerBrandCache.evictAfterCommit(List.of(savedCar.getBrand()));
+        dealerStatsService.carAdded(savedCar);
+
+        CarDto created = carMapper.toDto(savedCar);
+        eventPublisher.publish(OutboxEvent.Aggregate.CAR, savedCar.getId(), OutboxEvent.Type.CREATED, created);
+        return created;
     }
 
-    public CarDto updateCar(Long id, CarDto carDto) {
+    public Tagged<CarDto> updateCar(Long id, CarDto carDto, String ifMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_CAR_ID + id);
         }
@@ -123,9 +199,23 @@ public class CarService {
 
         Car existingCar = carRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.CAR_NOT_FOUND + id));
+        if (ifMatch != null && !ETags.matches(ifMatch, tagOf(existingCar))) {
+            throw new PreconditionFailedException(ErrorMessages.ETAG_MISMATCH + tagOf(existingCar));
+        }
 
         String oldBrand = existingCar.getBrand();
-        System.out.println("Updating car, old brand: " + oldBrand);
+        String oldModel = existingCar.getModel();
+        Long oldDealerId = existingCar.getDealer().getId();
+        DealerStatsService.CarState oldState = DealerStatsService.CarState.of(existingCar);
+        // Sales only move when the car changes dealer, brand or order; prices are fixed at order time
+        Set<Long> orderIds = new HashSet<>();
+        if (existingCar.getOrder() != null) {
+            orderIds.add(existingCar.getOrder().getId());
+        }
+        if (carDto.getOrderId() != null) {
+            orderIds.add(carDto.getOrderId());
+        }
+        List<CarRepository.SaleLine> salesBefore = salesRollupService.snapshot(orderIds);
 
         if (!existingCar.getVin().equals(carDto.getVin())) {
             throw new ValidationException(ErrorMessages.VIN_CHANGE_NOT_ALLOWED + carDto.getVin());
@@ -134,8 +224,19 @@ public class CarService {
         // Обновляем entity из DTO
         carMapper.updateEntity(carDto, existingCar);
 
-        Car updatedCar = carRepository.save(existingCar);
-        return carMapper.toDto(updatedCar);
+        Car updatedCar = carRepository.saveAndFlush(existingCar);
+        carSearchIndex.indexAfterCommit(updatedCar);
+        carSuggestionIndex.removeAfterCommit(updatedCar.getId(), oldBrand, oldModel);
+        carSuggestionIndex.addAfterCommit(updatedCar.getId(), updatedCar.getBrand(), updatedCar.getModel());
+        if (!Objects.equals(Car.normalizeBrand(oldBrand), Car.normalizeBrand(updatedCar.getBrand()))
+                || !oldDealerId.equals(updatedCar.getDealer().getId())) {
+            dealerBrandCache.evictAfterCommit(List.of(oldBrand, updatedCar.getBrand()));
+        }
+        dealerStatsService.carChanged(oldState, updatedCar);
+        salesRollupService.salesChanged(salesBefore, salesRollupService.snapshot(orderIds));
+        CarDto updated = carMapper.toDto(updatedCar);
+        eventPublisher.publish(OutboxEvent.Aggregate.CAR, id, OutboxEvent.Type.UPDATED, updated);
+        return new Tagged<>(tagOf(updatedCar), updated);
     }
 
     public void deleteCar(Long id) {
@@ -146,91 +247,66 @@ public class CarService {
         Car car = carRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.CAR_NOT_FOUND + id));
 
-        for (User user : new ArrayList<>(car.getUsersWhoFavorited())) {
-            user.getFavoriteCars().remove(car);
-            userRepository.save(user);
-        }
-
-        if (car.getOrder() != null) {
-            Order order = car.getOrder();
-            for (Car otherCar : new ArrayList<>(order.getCars())) {
-                if (!otherCar.getId().equals(car.getId())) {
-                    otherCar.setOrder(null);
-                    carRepository.save(otherCar);
-                }
+        // The order holding the car is dropped and its other cars are released.
+        List<Long> carIds = List.of(id);
+        carRepository.deleteFavoritesByCarIds(carIds);
+        // Cars are changed through the session, so the cache replaces just them.
+        Order order = car.getOrder();
+        if (order != null) {
+            List<Long> orderIds = List.of(order.getId());
+            dealerStatsService.stockReleased(carRepository.summarizeStockByOrderIds(orderIds));
+            salesRollupService.ordersRemoved(orderIds);
+            order.getCars().forEach(orderCar -> orderCar.setOrder(null));
+            if (order.getUser() != null) {
+                order.getUser().getOrders().remove(order);
             }
             orderRepository.delete(order);
+            eventPublisher.publishAll(OutboxEvent.Aggregate.ORDER, orderIds, OutboxEvent.Type.DELETED);
         }
-
+        dealerStatsService.stockRemoved(carRepository.summarizeStockByCarIds(carIds));
         carRepository.delete(car);
+        eventPublisher.publish(OutboxEvent.Aggregate.CAR, id, OutboxEvent.Type.DELETED, null);
+        carSearchIndex.removeAfterCommit(id);
+        carSuggestionIndex.removeAfterCommit(id, car.getBrand(), car.getModel());
+        dealerBrandCache.evictAfterCommit(List.of(car.getBrand()));
     }
 
-    public List<CarDto> findCarsByYearAndMileage(Integer minYear, Integer maxYear, Double maxMileage) {
-        List<Car> cars = carRepository.findByYearAndMileage(minYear, maxYear, maxMileage);
-        return cars.stream()
-                .map(carMapper::toDto)
-                .toList();
+    /**
+     * Searches cars by the supplied filters. Only non-null filters become SQL predicates,
+     * so each combination gets its own plan that can use the matching index. Pages are read
+     * with a keyset query and no total count.
+     *
+     * @param filter    optional filters
+     * @param sort      sort key: id, price, year or mileage
+     * @param direction sort direction: asc or desc
+     * @param cursor    cursor returned with the previous page (optional)
+     * @param limit     page size (optional)
+     * @return one page of matching cars
+     */
+    public CursorPage<CarDto> searchCars(CarFilterDto filter, String sort, String direction,
+                                         String cursor, Integer limit) {
+        carValidator.validateRange("price", filter.getMinPrice(), filter.getMaxPrice());
+        carValidator.validateRange("year", filter.getMinYear(), filter.getMaxYear());
+        carValidator.validateRange("mileage", filter.getMinMileage(), filter.getMaxMileage());
+
+        Specification<Car> specification = Specification
+                .where(CarSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()))
+                .and(CarSpecifications.yearBetween(filter.getMinYear(), filter.getMaxYear()))
+                .and(CarSpecifications.mileageBetween(filter.getMinMileage(), filter.getMaxMileage()))
+                .and(CarSpecifications.brandEquals(filter.getBrand()))
+                .and(CarSpecifications.colorEquals(filter.getColor()))
+                .and(CarSpecifications.dealerEquals(filter.getDealerId()));
+
+        return keysetPager.page(Car.class, specification, SORT_KEYS, sort, direction, cursor, limit)
+                .mapAll(carMapper::toDtos);
     }
 
-    public void validateCarDto(CarDto carDto) {
-        if (carDto == null) {
-            throw new ValidationException(ErrorMessages.CAR_DATA_NULL);
-        }
-
-        if (carDto.getVin().trim().isEmpty()) {
-            throw new ValidationException(ErrorMessages.VIN_EMPTY);
-        }
-
-        if (carDto.getVin().length() != 17) {
-            throw new ValidationException(ErrorMessages.INVALID_VIN_LENGTH);
-        }
-        if (!carDto.getVin().matches("^[A-HJ-NPR-Z0-9]{17}$")) {
-            throw new ValidationException(ErrorMessages.INVALID_VIN_FORMAT);
-        }
-
-        if (carDto.getModel() == null || carDto.getModel().trim().isEmpty()) {
-            throw new ValidationException(ErrorMessages.MODEL_EMPTY);
-        }
-        if (carDto.getModel().length() > 50) {
-            throw new ValidationException(ErrorMessages.MODEL_TOO_LONG);
-        }
-
-        if (carDto.getBrand() == null || carDto.getBrand().trim().isEmpty()) {
-            throw new ValidationException(ErrorMessages.BRAND_EMPTY);
-        }
-        if (carDto.getBrand().length() > 50) {
-            throw new ValidationException(ErrorMessages.BRAND_TOO_LONG);
-        }
-
-        int currentYear = java.time.Year.now().getValue();
-        if (carDto.getYear() < 1886 || carDto.getYear() > currentYear + 1) {
-            throw new ValidationException(String.format(ErrorMessages.INVALID_YEAR_RANGE, 1886, currentYear + 1));
-        }
-
-        // Validate price
-        if (carDto.getPrice() <= 0) {
-            throw new ValidationException(ErrorMessages.PRICE_POSITIVE);
-        }
-
-        // Validate mileage
-        if (carDto.getMileage() < 0) {
-            throw new ValidationException(ErrorMessages.MILEAGE_NEGATIVE);
-        }
-
-        // Validate color
-        if (carDto.getColor() == null || carDto.getColor().trim().isEmpty()) {
-            throw new ValidationException(ErrorMessages.COLOR_EMPTY);
-        }
-        if (carDto.getColor().length() > 30) {
-            throw new ValidationException(ErrorMessages.COLOR_TOO_LONG);
-        }
-        if (!carDto.getColor().matches("^[a-zA-Z\\s-]+$")) {
-            throw new ValidationException(ErrorMessages.COLOR_INVALID);
-        }
+    /** The car version changes on every change of the car, its order or its favorites. */
+    private static String tagOf(Car car) {
+        return ETags.builder().add(car.getId()).add(car.getVersion()).build();
+    }
 
-        // Validate dealer ID if present
-        if (carDto.getDealerId() != null && carDto.getDealerId() < 1) {
-            throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
-        }
+    public void validateCarDto(CarDto carDto) {
+        carValidator.validate(carDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.dto.SuggestionDto;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.util.TransactionHooks;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Prefix tries over car brands and models for typeahead.
+ * Every node stores the number of cars below it, which bounds the count of any value
+ * in its subtree, so the top-k values for a prefix are found best-first without
+ * visiting the whole subtree. Counts are loaded on startup into new tries while the old ones
+ * keep serving, and then adjusted by car writes. A load remembers the brand and model it read
+ * per car; writes committed meanwhile are recorded as the latest state of each car, and before
+ * the swap every recorded car has its loaded values replaced by that state, so a car is counted
+ * once whether or not the load saw the write.
+ */
+@Service
+public class CarSuggestionIndex {
+
+    public static final String BRAND = "brand";
+    public static final String MODEL = "model";
+
+    private final CarRepository carRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node brands = new Node();
+    private Node models = new Node();
+
+    /**
+     * Latest committed state of the cars written while a load runs, {@code null} value for
+     * deleted cars; the map is {@code null} when no load runs.
+     */
+    private Map<Long, CarState> pending;
+
+    /**
+     * Constructor for CarSuggestionIndex.
+     *
+     * @param carRepository the car repository
+     */
+    public CarSuggestionIndex(CarRepository carRepository) {
+        this.carRepository = carRepository;
+    }
+
+    /**
+     * Loads brand and model counts once the application is started.
+     * Writes are recorded from before the cars are read and override what the load read for them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            pending = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node loadedBrands = new Node();
+        Node loadedModels = new Node();
+        LoadedCars loaded = new LoadedCars();
+        try (Stream<CarRepository.SearchAttributes> cars = carRepository.streamSearchAttributes()) {
+            cars.forEach(car -> {
+                add(loadedBrands, car.getBrand(), 1);
+                add(loadedModels, car.getModel(), 1);
+                loaded.append(car.getId(), car.getBrand(), car.getModel());
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            pending = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, CarState> write : pending.entrySet()) {
+                int i = loaded.indexOf(write.getKey());
+                if (i >= 0) {
+                    add(loadedBrands, loaded.brands[i], -1);
+                    add(loadedModels, loaded.models[i], -1);
+                }
+                CarState state = write.getValue();
+                if (state != null) {
+                    add(loadedBrands, state.brand(), 1);
+                    add(loadedModels, state.model(), 1);
+                }
+            }
+            brands = loadedBrands;
+            models = loadedModels;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a car after the current transaction commits.
+     *
+     * @param carId ID of the added car
+     * @param brand brand of the added car
+     * @param model model of the added car
+     */
+    public void addAfterCommit(Long carId, String brand, String model) {
+        TransactionHooks.afterCommit(() -> adjust(carId, brand, model, 1));
+    }
+
+    /**
+     * Uncounts a car after the current transaction commits.
+     * A changed car is uncounted with its old values and then counted with its new ones.
+     *
+     * @param carId ID of the removed car
+     * @param brand brand of the removed car
+     * @param model model of the removed car
+     */
+    public void removeAfterCommit(Long carId, String brand, String model) {
+        TransactionHooks.afterCommit(() -> adjust(carId, brand, model, -1));
+    }
+
+    /**
+     * Returns the most stocked brands and models starting with the prefix.
+     *
+     * @param prefix case-insensitive prefix
+     * @param limit maximum number of suggestions
+     * @return suggestions ordered by inventory count
+     */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            List<SuggestionDto> result = new ArrayList<>();
+            result.addAll(topK(brands, key, limit, BRAND));
+            result.addAll(topK(models, key, limit, MODEL));
+            result.sort(Comparator.comparingLong(SuggestionDto::getCount).reversed());
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adjust(Long carId, String brand, String model, long delta) {
+        lock.writeLock().lock();
+        try {
+            add(brands, brand, delta);
+            add(models, model, delta);
+            if (pending != null) {
+                pending.put(carId, delta > 0 ? new CarState(brand, model) : null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(Node root, String value, long delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String key = normalize(value);
+        Node node = root;
+        node.subtreeCount += delta;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i), true);
+            node.subtreeCount += delta;
+        }
+        node.count += delta;
+        if (node.display == null || delta > 0) {
+            node.display = value.trim();
+        }
+    }
+
+    private static List<SuggestionDto> topK(Node root, String prefix, int limit, String type) {
+        List<SuggestionDto> result = new ArrayList<>();
+        Node start = root;
+        for (int i = 0; i < prefix.length() && start != null; i++) {
+            start = start.child(prefix.charAt(i), false);
+        }
+        if (start == null || start.subtreeCount <= 0) {
+            return result;
+        }
+
+        // Entries are either nodes (bounded by their subtree count) or exact values.
+        PriorityQueue<Entry> queue = new PriorityQueue<>(
+                Comparator.comparingLong((Entry entry) -> entry.score).reversed());
+        queue.add(new Entry(start, start.subtreeCount, false));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Entry entry = queue.poll();
+            if (entry.exact) {
+                result.add(new SuggestionDto(entry.node.display, type, entry.score));
+                continue;
+            }
+            if (entry.node.count > 0) {
+                queue.add(new Entry(entry.node, entry.node.count, true));
+            }
+            for (int i = 0; i < entry.node.size; i++) {
+                Node child = entry.node.children[i];
+                if (child.subtreeCount > 0) {
+                    queue.add(new Entry(child, child.subtreeCount, false));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Trie node with children kept in small parallel arrays. */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private long subtreeCount;
+        private long count;
+        private String display;
+
+        private Node child(char key, boolean create) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            if (!create) {
+                return null;
+            }
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            Node node = new Node();
+            keys[size] = key;
+            children[size] = node;
+            size++;
+            return node;
+        }
+    }
+
+    private record Entry(Node node, long score, boolean exact) {}
+
+    private record CarState(String brand, String model) {}
+
+    /** Brand and model of every car read by a load, in ascending ID order. */
+    private static final class LoadedCars {
+        private final Map<String, String> values = new HashMap<>();
+        private long[] ids = new long[1024];
+        private String[] brands = new String[1024];
+        private String[] models = new String[1024];
+        private int size;
+
+        private void append(long id, String brand, String model) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                brands = Arrays.copyOf(brands, size * 2);
+                models = Arrays.copyOf(models, size * 2);
+            }
+            ids[size] = id;
+            brands[size] = brand == null ? null : values.computeIfAbsent(brand, value -> value);
+            models[size] = model == null ? null : values.computeIfAbsent(model, value -> value);
+            size++;
+        }
+
+        private int indexOf(long id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+    }
+}
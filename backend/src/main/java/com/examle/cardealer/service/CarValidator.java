@@ -0,0 +1,184 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.exception.ValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stateless validator of car data.
+ * Kept outside the transactional {@link CarService} so it can run on worker threads.
+ */
+@Component
+public class CarValidator {
+
+    /** Fewer cars than this per worker are validated on the calling thread. */
+    private static final int MIN_CHUNK = 256;
+
+    private final VinValidator vinValidator;
+    private final Executor validationExecutor;
+
+    /**
+     * Constructor for CarValidator.
+     *
+     * @param vinValidator       the VIN validator
+     * @param validationExecutor the executor bulk validation runs on
+     */
+    public CarValidator(VinValidator vinValidator, @Qualifier("validationExecutor") Executor validationExecutor) {
+        this.vinValidator = vinValidator;
+        this.validationExecutor = validationExecutor;
+    }
+
+    /**
+     * Validates many cars in parallel, throwing the violation of the invalid car with the lowest index.
+     * The list is split into consecutive chunks validated on the validation executor; every chunk
+     * stops at its first invalid car and the chunks are inspected in order, so the reported car
+     * does not depend on scheduling.
+     *
+     * @param carDtos the car DTOs
+     * @throws ValidationException if any car is invalid
+     */
+    public void validateAll(List<CarDto> carDtos) {
+        int workers = Math.min(Runtime.getRuntime().availableProcessors(), carDtos.size() / MIN_CHUNK);
+        if (workers <= 1) {
+            carDtos.forEach(this::validate);
+            return;
+        }
+        int chunkSize = (carDtos.size() + workers - 1) / workers;
+        List<CompletableFuture<ValidationException>> chunks = new ArrayList<>();
+        for (int from = 0; from < carDtos.size(); from += chunkSize) {
+            List<CarDto> chunk = carDtos.subList(from, Math.min(from + chunkSize, carDtos.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> firstViolation(chunk), validationExecutor));
+        }
+        for (CompletableFuture<ValidationException> chunk : chunks) {
+            ValidationException violation;
+            try {
+                violation = chunk.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (violation != null) {
+                throw violation;
+            }
+        }
+    }
+
+    /**
+     * Validates car data, throwing on the first violated rule.
+     *
+     * @param carDto the car DTO
+     * @throws ValidationException if the data is invalid
+     */
+    public void validate(CarDto carDto) {
+        if (carDto == null) {
+            throw new ValidationException(ErrorMessages.CAR_DATA_NULL);
+        }
+
+        String vinError = vinValidator.checkFormat(carDto.getVin());
+        if (vinError != null) {
+            throw new ValidationException(vinError);
+        }
+
+        if (carDto.getModel() == null || carDto.getModel().trim().isEmpty()) {
+            throw new ValidationException(ErrorMessages.MODEL_EMPTY);
+        }
+        if (carDto.getModel().length() > 50) {
+            throw new ValidationException(ErrorMessages.MODEL_TOO_LONG);
+        }
+
+        if (carDto.getBrand() == null || carDto.getBrand().trim().isEmpty()) {
+            throw new ValidationException(ErrorMessages.BRAND_EMPTY);
+        }
+        if (carDto.getBrand().length() > 50) {
+            throw new ValidationException(ErrorMessages.BRAND_TOO_LONG);
+        }
+
+        int currentYear = java.time.Year.now().getValue();
+        if (carDto.getYear() < 1886 || carDto.getYear() > currentYear + 1) {
+            throw new ValidationException(String.format(ErrorMessages.INVALID_YEAR_RANGE, 1886, currentYear + 1));
+        }
+
+        // Validate price
+        if (carDto.getPrice() <= 0) {
+            throw new ValidationException(ErrorMessages.PRICE_POSITIVE);
+        }
+
+        // Validate mileage
+        if (carDto.getMileage() < 0) {
+            throw new ValidationException(ErrorMessages.MILEAGE_NEGATIVE);
+        }
+
+        validateColor(carDto.getColor());
+
+        // Validate dealer ID if present
+        if (carDto.getDealerId() != null && carDto.getDealerId() < 1) {
+            throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
+        }
+    }
+
+    /**
+     * Validates a color name.
+     *
+     * @param color the color
+     * @throws ValidationException if the color is empty, too long or not a color name
+     */
+    public void validateColor(String color) {
+        if (color == null || color.trim().isEmpty()) {
+            throw new ValidationException(ErrorMessages.COLOR_EMPTY);
+        }
+        if (color.length() > 30) {
+            throw new ValidationException(ErrorMessages.COLOR_TOO_LONG);
+        }
+        if (!isColorName(color)) {
+            throw new ValidationException(ErrorMessages.COLOR_INVALID);
+        }
+    }
+
+    /**
+     * Checks that an optional range filter is not inverted.
+     *
+     * @param field name of the filtered field
+     * @param min   lower bound (optional)
+     * @param max   upper bound (optional)
+     * @param <T>   type of the bounds
+     * @throws ValidationException if both bounds are present and min is greater than max
+     */
+    public <T extends Comparable<T>> void validateRange(String field, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ValidationException(ErrorMessages.INVALID_RANGE + field);
+        }
+    }
+
+    private ValidationException firstViolation(List<CarDto> carDtos) {
+        for (CarDto carDto : carDtos) {
+            try {
+                validate(carDto);
+            } catch (ValidationException e) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /** Same rule as {@code ^[a-zA-Z\s-]+$} without compiling a pattern per call. */
+    private static boolean isColorName(String color) {
+        if (color.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < color.length(); i++) {
+            char c = color.charAt(i);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            boolean whitespace = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (!letter && !whitespace && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
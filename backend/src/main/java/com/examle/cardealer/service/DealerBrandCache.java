@@ -0,0 +1,75 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.config.CacheConfig;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.util.TransactionHooks;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of the IDs of the dealers selling a brand, keyed by the normalized brand.
+ * Car and dealer writes evict exactly the brands they add to or remove from a dealer,
+ * after their transaction commits. Dealers themselves come from the entity cache.
+ */
+@Service
+public class DealerBrandCache {
+
+    private final Cache cache;
+    private final CarRepository carRepository;
+
+    /**
+     * Constructor for DealerBrandCache.
+     *
+     * @param cacheManager  the application cache manager
+     * @param carRepository the car repository
+     */
+    public DealerBrandCache(CacheManager cacheManager, CarRepository carRepository) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.DEALERS_BY_BRAND));
+        this.carRepository = carRepository;
+    }
+
+    /** Fills the brand key of cars stored before the column existed. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void fillMissingBrandKeys() {
+        carRepository.fillMissingBrandKeys();
+    }
+
+    /**
+     * Returns the IDs of the dealers selling a brand, loading them on a miss.
+     *
+     * @param brand  brand in any case
+     * @param loader query of the dealer IDs by normalized brand
+     * @return sorted dealer IDs
+     */
+    public List<Long> getDealerIds(String brand, Function<String, List<Long>> loader) {
+        String brandKey = Car.normalizeBrand(brand);
+        return cache.get(brandKey, () -> loader.apply(brandKey).stream().sorted().toList());
+    }
+
+    /**
+     * Drops the cached dealers of brands after the current transaction commits.
+     *
+     * @param brands brands whose set of dealers may have changed
+     */
+    public void evictAfterCommit(Collection<String> brands) {
+        Set<String> brandKeys = brands.stream()
+                .map(Car::normalizeBrand)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!brandKeys.isEmpty()) {
+            TransactionHooks.afterCommit(() -> brandKeys.forEach(cache::evict));
+        }
+    }
+}
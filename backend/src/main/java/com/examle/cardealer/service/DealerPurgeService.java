@@ -0,0 +1,69 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.config.CacheConfig;
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.exception.ResourceNotFoundException;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.PurgeTask;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.DealerRepository;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/** Class to hold logic for asynchronous dealer deletion. */
+@Service
+public class DealerPurgeService {
+    private final AsyncDealerPurgeService asyncDealerPurgeService;
+    private final DealerRepository dealerRepository;
+    private final CarRepository carRepository;
+    private final CacheManager cacheManager;
+    private final AtomicLong idCounter = new AtomicLong(1);
+
+    /** Constructor of the class. */
+    public DealerPurgeService(AsyncDealerPurgeService asyncDealerPurgeService,
+                              DealerRepository dealerRepository,
+                              CarRepository carRepository,
+                              CacheManager cacheManager) {
+        this.asyncDealerPurgeService = asyncDealerPurgeService;
+        this.dealerRepository = dealerRepository;
+        this.carRepository = carRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /** Function to start deleting a dealer in the background.
+     *
+     * @param dealerId id of the dealer
+     * @return id of the task
+     */
+    public Long startPurge(Long dealerId) {
+        if (dealerId == null || dealerId < 1) {
+            throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
+        }
+        if (!dealerRepository.existsById(dealerId)) {
+            throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId);
+        }
+
+        Long id = idCounter.getAndIncrement();
+        long totalCars = carRepository.countByDealerId(dealerId);
+        Cache purgeCache = cacheManager.getCache(CacheConfig.PURGE_TASKS);
+        purgeCache.put(id, new PurgeTask(id, dealerId, "IN_PROGRESS", totalCars, 0));
+        asyncDealerPurgeService.purgeDealer(id, dealerId, totalCars, purgeCache);
+        return id;
+    }
+
+    /** Function to get status of deleting a dealer.
+     *
+     * @param taskId id of the task
+     * @return object of PurgeTask class
+     */
+    public PurgeTask getStatus(Long taskId) {
+        Cache purgeCache = cacheManager.getCache(CacheConfig.PURGE_TASKS);
+        PurgeTask task = purgeCache == null ? null : purgeCache.get(taskId, PurgeTask.class);
+        if (task == null) {
+            throw new ResourceNotFoundException(ErrorMessages.TASK_NOT_FOUND + taskId);
+        }
+        return task;
+    }
+}
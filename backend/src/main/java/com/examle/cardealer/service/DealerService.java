@@ -1,24 +1,45 @@
 package com.example.cardealer.service;
 
 import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.BrandPriceSummaryDto;
+import com.example.cardealer.dto.CarBulkUpdateDto;
+import com.example.cardealer.dto.CarBulkUpdateResultDto;
 import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.CarFilterDto;
+import com.example.cardealer.dto.CursorPage;
 import com.example.cardealer.dto.DealerDto;
+import com.example.cardealer.dto.DealerInventorySummaryDto;
+import com.example.cardealer.dto.Tagged;
 import com.example.cardealer.exception.ConflictException;
+import com.example.cardealer.exception.PreconditionFailedException;
 import com.example.cardealer.exception.ResourceNotFoundException;
 import com.example.cardealer.exception.ValidationException;
 import com.example.cardealer.mapper.CarMapper;
 import com.example.cardealer.mapper.DealerMapper;
 import com.example.cardealer.model.Car;
 import com.example.cardealer.model.Dealer;
-import com.example.cardealer.model.Order;
-import com.example.cardealer.model.User;
+import com.example.cardealer.model.OutboxEvent;
+import com.example.cardealer.repository.CarBulkUpdater;
 import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.CarSpecifications;
 import com.example.cardealer.repository.DealerRepository;
+import com.example.cardealer.repository.KeysetPager;
 import com.example.cardealer.repository.OrderRepository;
-import com.example.cardealer.repository.UserRepository;
+import com.example.cardealer.util.ETags;
+import com.example.cardealer.util.FieldSelection;
 import jakarta.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 /**
@@ -28,80 +49,228 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class DealerService {
 
+    private static final Map<String, Function<Dealer, Object>> SORT_KEYS = Map.of(
+            "id", Dealer::getId);
+
     private final CarRepository carRepository;
     private final DealerRepository dealerRepository;
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
     private final DealerMapper dealerMapper;
     private final CarMapper carMapper;
+    private final KeysetPager keysetPager;
+    private final CarSearchIndex carSearchIndex;
+    private final CarSuggestionIndex carSuggestionIndex;
+    private final CarBulkUpdater carBulkUpdater;
+    private final CarValidator carValidator;
+    private final DealerBrandCache dealerBrandCache;
+    private final DealerStatsService dealerStatsService;
+    private final SalesRollupService salesRollupService;
+    private final DomainEventPublisher eventPublisher;
 
     /**
      * Constructor for DealerService.
      *
-     * @param dealerRepository the dealer repository
-     * @param dealerMapper     the dealer mapper
+     * @param carRepository      the car repository
+     * @param dealerRepository   the dealer repository
+     * @param orderRepository    the order repository
+     * @param dealerMapper       the dealer mapper
+     * @param carMapper          the car mapper
+     * @param keysetPager        the keyset pager
+     * @param carSearchIndex     the faceted search index
+     * @param carSuggestionIndex the brand/model typeahead index
+     * @param carBulkUpdater     the set-based car updater
+     * @param carValidator       the car validator
+     * @param dealerBrandCache   the brand to dealer IDs cache
+     * @param dealerStatsService the dealer statistics service
+     * @param salesRollupService the sales rollup service
+     * @param eventPublisher     the domain event publisher
      */
     public DealerService(CarRepository carRepository,
                          DealerRepository dealerRepository,
                          OrderRepository orderRepository,
-                         UserRepository userRepository,
                          DealerMapper dealerMapper,
-                         CarMapper carMapper) {
+                         CarMapper carMapper,
+                         KeysetPager keysetPager,
+                         CarSearchIndex carSearchIndex,
+                         CarSuggestionIndex carSuggestionIndex,
+                         CarBulkUpdater carBulkUpdater,
+                         CarValidator carValidator,
+                         DealerBrandCache dealerBrandCache,
+                         DealerStatsService dealerStatsService,
+                         SalesRollupService salesRollupService,
+                         DomainEventPublisher eventPublisher) {
         this.carRepository = carRepository;
         this.dealerRepository = dealerRepository;
         this.orderRepository = orderRepository;
-        this.userRepository = userRepository;
         this.dealerMapper = dealerMapper;
         this.carMapper = carMapper;
+        this.keysetPager = keysetPager;
+        this.carSearchIndex = carSearchIndex;
+        this.carSuggestionIndex = carSuggestionIndex;
+        this.carBulkUpdater = carBulkUpdater;
+        this.carValidator = carValidator;
+        this.dealerBrandCache = dealerBrandCache;
+        this.dealerStatsService = dealerStatsService;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Retrieves all dealers.
+     * Retrieves one page of dealers using keyset pagination.
      *
-     * @return a list of all dealers
+     * @param sort        sort key: id
+     * @param direction   sort direction: asc or desc
+     * @param cursor      cursor returned with the previous page (optional)
+     * @param limit       page size (optional)
+     * @param fields      comma-separated fields to return (optional, all by default)
+     * @param expand      nested collections to return: cars (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return page of dealers and its tag, without the page when the client copy is current
      */
-    public List<DealerDto> getAllDealers() {
-        return dealerRepository.findAll().stream()
-                .map(dealerMapper::toDto)
-                .toList();
+    public Tagged<CursorPage<DealerDto>> getAllDealers(String sort, String direction, String cursor, Integer limit,
+                                                       String fields, String expand, String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, expand, DealerMapper.FIELDS, DealerMapper.EXPANSIONS);
+        CursorPage<Dealer> page = keysetPager.page(Dealer.class, SORT_KEYS, sort, direction, cursor, limit);
+        Map<Long, CarRepository.VersionSummary> cars = summarizeCars(
+                page.getItems().stream().map(Dealer::getId).toList());
+        ETags.Builder tag = ETags.builder().add(page.getNextCursor());
+        for (Dealer dealer : page.getItems()) {
+            addToTag(tag, dealer, cars.get(dealer.getId()));
+        }
+        String etag = tag.build();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, page.mapAll(dealers -> dealerMapper.toDtos(dealers, selection, countCars(cars))));
     }
 
     /**
      * Retrieves a dealer by its ID.
      *
-     * @param id the dealer ID
-     * @return the dealer DTO
+     * @param id          the dealer ID
+     * @param fields      comma-separated fields to return (optional, all by default)
+     * @param expand      nested collections to return: cars (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return the dealer DTO and its tag, without the DTO when the client copy is current
      * @throws ResourceNotFoundException if the dealer is not found
      */
-    public DealerDto getDealerById(Long id) {
+    public Tagged<DealerDto> getDealerById(Long id, String fields, String expand, String ifNoneMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
         }
+        FieldSelection selection = FieldSelection.parse(fields, expand, DealerMapper.FIELDS, DealerMapper.EXPANSIONS);
 
         Dealer dealer = dealerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + id));
 
-        return dealerMapper.toDto(dealer);
+        Map<Long, CarRepository.VersionSummary> cars = summarizeCars(List.of(id));
+        String etag = addToTag(ETags.builder(), dealer, cars.get(id)).build();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, dealerMapper.toDtos(List.of(dealer), selection, countCars(cars)).get(0));
     }
 
     /**
-     * Retrieves all cars belonging to a specific dealer.
+     * Retrieves one page of a dealer's cars with a keyset query on {@code dealer_id},
+     * without loading the dealer's car collection.
+     *
+     * @param dealerId  the ID of the dealer
+     * @param filter    optional filters; its dealer ID is ignored
+     * @param sort      sort key: id, price, year or mileage
+     * @param direction sort direction: asc or desc
+     * @param cursor    cursor returned with the previous page (optional)
+     * @param limit     page size (optional)
+     * @return page of cars belonging to the dealer
+     * @throws ResourceNotFoundException if dealer is not found
+     */
+    public CursorPage<CarDto> getDealerCars(Long dealerId, CarFilterDto filter, String sort, String direction,
+                                            String cursor, Integer limit) {
+        requireDealer(dealerId);
+        carValidator.validateRange("price", filter.getMinPrice(), filter.getMaxPrice());
+        carValidator.validateRange("year", filter.getMinYear(), filter.getMaxYear());
+        carValidator.validateRange("mileage", filter.getMinMileage(), filter.getMaxMileage());
+
+        Specification<Car> specification = Specification
+                .where(CarSpecifications.dealerEquals(dealerId))
+                .and(CarSpecifications.brandEquals(filter.getBrand()))
+                .and(CarSpecifications.colorEquals(filter.getColor()))
+                .and(CarSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()))
+                .and(CarSpecifications.yearBetween(filter.getMinYear(), filter.getMaxYear()))
+                .and(CarSpecifications.mileageBetween(filter.getMinMileage(), filter.getMaxMileage()));
+
+        return keysetPager.page(Car.class, specification, CarService.SORT_KEYS, sort, direction, cursor, limit)
+                .mapAll(carMapper::toDtos);
+    }
+
+    /**
+     * Summarizes a dealer's inventory with one grouped query instead of returning the cars.
      *
      * @param dealerId the ID of the dealer
-     * @return list of cars belonging to the dealer
+     * @return car count and min/avg/max price, in total and per brand
      * @throws ResourceNotFoundException if dealer is not found
      */
-    public List<CarDto> getDealerCars(Long dealerId) {
+    public DealerInventorySummaryDto getDealerCarsSummary(Long dealerId) {
+        requireDealer(dealerId);
+
+        List<BrandPriceSummaryDto> brands = new ArrayList<>();
+        long carCount = 0;
+        double priceSum = 0;
+        Double minPrice = null;
+        Double maxPrice = null;
+        for (CarRepository.BrandPriceSummary row : carRepository.summarizePricesByDealerId(dealerId)) {
+            brands.add(new BrandPriceSummaryDto(row.getBrand(), row.getCarCount(),
+                    row.getMinPrice(), row.getAvgPrice(), row.getMaxPrice()));
+            carCount += row.getCarCount();
+            priceSum += row.getAvgPrice() * row.getCarCount();
+            minPrice = minPrice == null ? row.getMinPrice() : Math.min(minPrice, row.getMinPrice());
+            maxPrice = maxPrice == null ? row.getMaxPrice() : Math.max(maxPrice, row.getMaxPrice());
+        }
+        Double avgPrice = carCount == 0 ? null : priceSum / carCount;
+        return new DealerInventorySummaryDto(dealerId, carCount, minPrice, avgPrice, maxPrice, brands);
+    }
+
+    /**
+     * Changes the price and/or color of all dealer's cars matching a filter with a single
+     * bulk UPDATE whose WHERE clause is the filter, so cars are selected as they are when written.
+     * The dealer's statistics and search documents are then refreshed from its cars and one
+     * event describing the change is published.
+     *
+     * @param dealerId the dealer ID
+     * @param update   filter and operation
+     * @return number of updated cars
+     * @throws ValidationException if a matching car's new price would not be positive
+     */
+    public CarBulkUpdateResultDto updateDealerCars(Long dealerId, CarBulkUpdateDto update) {
         if (dealerId == null || dealerId < 1) {
             throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
         }
+        validateBulkUpdate(update);
+        if (!dealerRepository.existsById(dealerId)) {
+            throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId);
+        }
 
-        Dealer dealer = dealerRepository.findById(dealerId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId));
+        Specification<Car> specification = Specification
+                .where(CarSpecifications.dealerEquals(dealerId))
+                .and(CarSpecifications.brandEquals(update.getBrand()))
+                .and(CarSpecifications.modelEquals(update.getModel()))
+                .and(CarSpecifications.colorEquals(update.getColor()))
+                .and(CarSpecifications.yearBetween(update.getMinYear(), update.getMaxYear()))
+                .and(CarSpecifications.priceBetween(update.getMinPrice(), update.getMaxPrice()));
+        Long notPositive = carBulkUpdater.findNotPositive(specification,
+                update.getPriceFactor(), update.getPriceDelta());
+        if (notPositive != null) {
+            throw new ValidationException(String.format(ErrorMessages.BULK_UPDATE_PRICE_NOT_POSITIVE, notPositive));
+        }
 
-        return dealer.getCars().stream()
-                .map(carMapper::toDto)
-                .toList();
+        String newColor = update.getNewColor() == null ? null : update.getNewColor().trim();
+        int updated = carBulkUpdater.update(specification, update.getPriceFactor(), update.getPriceDelta(), newColor);
+        if (updated > 0) {
+            dealerStatsService.reconcileDealer(dealerId);
+            carSearchIndex.indexAllAfterCommit(carRepository.findSearchAttributesByDealerId(dealerId));
+            eventPublisher.publish(OutboxEvent.Aggregate.DEALER_CARS, dealerId, OutboxEvent.Type.UPDATED, update);
+        }
+        return new CarBulkUpdateResultDto(updated);
     }
 
     /**
@@ -126,10 +295,12 @@ public class DealerService {
         Dealer dealer = dealerMapper.toEntity(dealerDto);
 
         Dealer savedDealer = dealerRepository.save(dealer);
-        return dealerMapper.toDto(savedDealer);
+        DealerDto created = dealerMapper.toDto(savedDealer);
+        eventPublisher.publish(OutboxEvent.Aggregate.DEALER, savedDealer.getId(), OutboxEvent.Type.CREATED, created);
+        return created;
     }
 
-    public DealerDto updateDealer(Long id, DealerDto dealerDto) {
+    public Tagged<DealerDto> updateDealer(Long id, DealerDto dealerDto, String ifMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
         }
@@ -138,6 +309,12 @@ public class DealerService {
 
         Dealer existingDealer = dealerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + id));
+        if (ifMatch != null) {
+            String etag = tagOf(existingDealer);
+            if (!ETags.matches(ifMatch, etag)) {
+                throw new PreconditionFailedException(ErrorMessages.ETAG_MISMATCH + etag);
+            }
+        }
 
         // Проверка уникальности имени, если оно изменилось
         if (!existingDealer.getName().equals(dealerDto.getName())
@@ -158,26 +335,56 @@ public class DealerService {
         }
 
 
-        // Собираем бренды в список
-        List<String> affectedBrands = new ArrayList<>();
-        for (Car car : existingDealer.getCars()) {
-            affectedBrands.add(car.getBrand());
+        // Машины из DTO могут сменить бренд, модель, цену, дилера и заказ: запоминаем их состояние до изменения
+        List<Long> carIds = dealerDto.getCars() == null ? List.of() : dealerDto.getCars().stream()
+                .map(CarDto::getId).filter(Objects::nonNull).distinct().toList();
+        Map<Long, String> oldBrands = new HashMap<>();
+        Map<Long, String> oldModels = new HashMap<>();
+        Map<Long, Long> oldDealerIds = new HashMap<>();
+        for (Car car : carRepository.findAllById(carIds)) {
+            oldBrands.put(car.getId(), car.getBrand());
+            oldModels.put(car.getId(), car.getModel());
+            oldDealerIds.put(car.getId(), car.getDealer().getId());
+        }
+        List<CarRepository.BrandStock> stockBefore = List.of();
+        Set<Long> orderIds = new HashSet<>();
+        if (!carIds.isEmpty()) {
+            stockBefore = carRepository.summarizeStockByCarIds(carIds);
+            orderIds.addAll(carRepository.findOrderIdsByCarIds(carIds));
+            dealerDto.getCars().stream().map(CarDto::getOrderId).filter(Objects::nonNull).forEach(orderIds::add);
         }
+        List<CarRepository.SaleLine> salesBefore = salesRollupService.snapshot(orderIds);
 
         dealerMapper.updateEntity(dealerDto, existingDealer);
 
-        // Обновляем автомобили и добавляем новые бренды
-        if (existingDealer.getCars() != null) {
-            carRepository.saveAll(existingDealer.getCars());
+        // Обновляем автомобили; затронуты старый и новый бренд машин, сменивших бренд или дилера
+        List<String> affectedBrands = new ArrayList<>();
+        if (!carIds.isEmpty()) {
+            carRepository.saveAllAndFlush(existingDealer.getCars());
             for (Car car : existingDealer.getCars()) {
-                if (!affectedBrands.contains(car.getBrand())) {
+                String oldBrand = oldBrands.get(car.getId());
+                if (!Objects.equals(Car.normalizeBrand(oldBrand), Car.normalizeBrand(car.getBrand()))
+                        || !Objects.equals(oldDealerIds.get(car.getId()), car.getDealer().getId())) {
+                    affectedBrands.add(oldBrand);
                     affectedBrands.add(car.getBrand());
                 }
+                carSearchIndex.indexAfterCommit(car);
+                carSuggestionIndex.removeAfterCommit(car.getId(), oldBrand, oldModels.get(car.getId()));
+                carSuggestionIndex.addAfterCommit(car.getId(), car.getBrand(), car.getModel());
             }
+            dealerStatsService.stockChanged(stockBefore, carRepository.summarizeStockByCarIds(carIds));
+            salesRollupService.salesChanged(salesBefore, salesRollupService.snapshot(orderIds));
         }
-
-        Dealer updatedDealer = dealerRepository.save(existingDealer);
-        return dealerMapper.toDto(updatedDealer);
+        dealerBrandCache.evictAfterCommit(affectedBrands);
+
+        Dealer updatedDealer = dealerRepository.saveAndFlush(existingDealer);
+        DealerDto updated = dealerMapper.toDto(updatedDealer);
+        eventPublisher.publish(OutboxEvent.Aggregate.DEALER, id, OutboxEvent.Type.UPDATED, updated);
+        if (dealerDto.getCars() != null) {
+            eventPublisher.publishAll(OutboxEvent.Aggregate.CAR,
+                    updatedDealer.getCars().stream().map(Car::getId).toList(), OutboxEvent.Type.UPDATED);
+        }
+        return new Tagged<>(tagOf(updatedDealer), updated);
     }
 
     /**
@@ -190,64 +397,114 @@ public class DealerService {
             throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
         }
 
-        Dealer dealer = dealerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + id));
+        if (!dealerRepository.existsById(id)) {
+            throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + id);
+        }
 
         // Собираем бренды в список
+        List<CarRepository.CarKey> cars = carRepository.findKeysByDealerId(id);
         List<String> affectedBrands = new ArrayList<>();
-        for (Car car : dealer.getCars()) {
+        for (CarRepository.CarKey car : cars) {
             affectedBrands.add(car.getBrand());
         }
 
-        // 1. Удаляем все машины дилера (машина не существует без дилера)
-        for (Car car : new ArrayList<>(dealer.getCars())) {
-            // Удаляем связи с пользователями (избранное)
-            for (User user : new ArrayList<>(car.getUsersWhoFavorited())) {
-                user.getFavoriteCars().remove(car);
-                userRepository.save(user);
-            }
+        // 1. Удаляем все машины дилера (машина не существует без дилера).
+        // Заказы с машинами дилера удаляются целиком, остальные машины из них освобождаются.
+        List<Long> orderIds = carRepository.findOrderIdsByDealerId(id);
+        carRepository.deleteFavoritesByDealerId(id);
+        if (!orderIds.isEmpty()) {
+            dealerStatsService.stockReleased(carRepository.summarizeStockByOrderIds(orderIds));
+            salesRollupService.ordersRemoved(orderIds);
+            carRepository.clearOrderByOrderIds(orderIds);
+            orderRepository.deleteAllByIdIn(orderIds);
+            eventPublisher.publishAll(OutboxEvent.Aggregate.ORDER, orderIds, OutboxEvent.Type.DELETED);
+        }
+        eventPublisher.publishAll(OutboxEvent.Aggregate.CAR,
+                cars.stream().map(CarRepository.CarKey::getId).toList(), OutboxEvent.Type.DELETED);
+        carRepository.deleteAllByDealerId(id);
+        dealerStatsService.dealerDeleted(id);
+        for (CarRepository.CarKey car : cars) {
+            carSearchIndex.removeAfterCommit(car.getId());
+            carSuggestionIndex.removeAfterCommit(car.getId(), car.getBrand(), car.getModel());
+        }
 
-            // Если машина в заказе - удаляем заказ
-            if (car.getOrder() != null) {
-                Order order = car.getOrder();
-                // Удаляем связь у других машин в заказе
-                for (Car otherCar : new ArrayList<>(order.getCars())) {
-                    if (!otherCar.getId().equals(car.getId())) {
-                        otherCar.setOrder(null);
-                        carRepository.save(otherCar);
-                    }
-                }
-                orderRepository.delete(order);
-            }
+        // 2. Удаляем самого дилера
+        dealerRepository.deleteInBulkById(id);
+        eventPublisher.publish(OutboxEvent.Aggregate.DEALER, id, OutboxEvent.Type.DELETED, null);
+        dealerBrandCache.evictAfterCommit(affectedBrands);
+    }
 
-            carRepository.delete(car);
+    /**
+     * Deletes one chunk of a dealer's cars in its own transaction, like {@link #deleteDealer}
+     * does for all of them: favorites of the cars go, orders holding them are deleted and
+     * their other cars are released.
+     *
+     * @param dealerId the dealer ID
+     * @param limit    maximum number of cars to delete
+     * @return number of deleted cars, 0 when the dealer has no cars left
+     */
+    public int deleteDealerCarsChunk(Long dealerId, int limit) {
+        List<CarRepository.CarKey> cars = carRepository.findKeysByDealerId(dealerId, PageRequest.of(0, limit));
+        if (cars.isEmpty()) {
+            return 0;
         }
 
-        // 2. Удаляем самого дилера
-        dealerRepository.delete(dealer);
+        List<Long> carIds = cars.stream().map(CarRepository.CarKey::getId).toList();
+        List<Long> orderIds = carRepository.findOrderIdsByCarIds(carIds);
+        carRepository.deleteFavoritesByCarIds(carIds);
+        if (!orderIds.isEmpty()) {
+            dealerStatsService.stockReleased(carRepository.summarizeStockByOrderIds(orderIds));
+            salesRollupService.ordersRemoved(orderIds);
+            carRepository.clearOrderByOrderIds(orderIds);
+            orderRepository.deleteAllByIdIn(orderIds);
+            eventPublisher.publishAll(OutboxEvent.Aggregate.ORDER, orderIds, OutboxEvent.Type.DELETED);
+        }
+        dealerStatsService.stockRemoved(carRepository.summarizeStockByCarIds(carIds));
+        carRepository.deleteAllByIdIn(carIds);
+        eventPublisher.publishAll(OutboxEvent.Aggregate.CAR, carIds, OutboxEvent.Type.DELETED);
+        for (CarRepository.CarKey car : cars) {
+            carSearchIndex.removeAfterCommit(car.getId());
+            carSuggestionIndex.removeAfterCommit(car.getId(), car.getBrand(), car.getModel());
+        }
+        dealerBrandCache.evictAfterCommit(cars.stream().map(CarRepository.CarKey::getBrand).toList());
+        return cars.size();
     }
 
-    public List<DealerDto> getDealersByBrand(String brand) {
+    /**
+     * Deletes a dealer whose cars have all been deleted.
+     *
+     * @param dealerId the dealer ID
+     * @return whether the dealer is gone; {@code false} if cars were added meanwhile
+     */
+    public boolean deleteDealerIfEmpty(Long dealerId) {
+        if (carRepository.existsByDealerId(dealerId)) {
+            return false;
+        }
+        dealerRepository.deleteInBulkById(dealerId);
+        dealerStatsService.dealerDeleted(dealerId);
+        eventPublisher.publish(OutboxEvent.Aggregate.DEALER, dealerId, OutboxEvent.Type.DELETED, null);
+        return true;
+    }
+
+    public List<DealerDto> getDealersByBrand(String brand, String fields, String expand) {
         if (brand == null || brand.length() < 2 || brand.length() > 50) {
             throw new ValidationException(ErrorMessages.INVALID_BRAND);
         }
+        FieldSelection selection = FieldSelection.parse(fields, expand, DealerMapper.FIELDS, DealerMapper.EXPANSIONS);
 
-        List<Dealer> dealers = dealerRepository.findDealersWithBrand(brand);
+        List<Long> dealerIds = dealerBrandCache.getDealerIds(brand, dealerRepository::findIdsWithBrand);
 
-        return dealers.stream()
-                .map(dealerMapper::toDto)
-                .toList();
+        return toDtos(findDealers(dealerIds), selection);
     }
 
-    public List<DealerDto> getDealersByBrandNative(String brand) {
+    public List<DealerDto> getDealersByBrandNative(String brand, String fields, String expand) {
         if (brand == null || brand.length() < 2 || brand.length() > 50) {
             throw new ValidationException(ErrorMessages.INVALID_BRAND);
         }
+        FieldSelection selection = FieldSelection.parse(fields, expand, DealerMapper.FIELDS, DealerMapper.EXPANSIONS);
 
-        List<Dealer> dealers = dealerRepository.findDealersWithBrandNative(brand);
-        return dealers.stream()
-                .map(dealerMapper::toDto)
-                .toList();
+        List<Long> dealerIds = dealerBrandCache.getDealerIds(brand, dealerRepository::findIdsWithBrandNative);
+        return toDtos(findDealers(dealerIds), selection);
     }
 
     public void validateDealerDto(DealerDto dealerDto) {
@@ -282,4 +539,68 @@ public class DealerService {
             throw new ValidationException("Invalid phone number format");
         }
     }
-}
\ No newline at end of file
+
+    private void requireDealer(Long dealerId) {
+        if (dealerId == null || dealerId < 1) {
+            throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
+        }
+        if (!dealerRepository.existsById(dealerId)) {
+            throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId);
+        }
+    }
+
+    private List<Dealer> findDealers(List<Long> dealerIds) {
+        List<Dealer> dealers = new ArrayList<>(dealerRepository.findAllById(dealerIds));
+        dealers.sort(Comparator.comparing(Dealer::getId));
+        return dealers;
+    }
+
+    private List<DealerDto> toDtos(List<Dealer> dealers, FieldSelection selection) {
+        Map<Long, Long> carCounts = selection.includes("carCount")
+                ? countCars(summarizeCars(dealers.stream().map(Dealer::getId).toList()))
+                : Map.of();
+        return dealerMapper.toDtos(dealers, selection, carCounts);
+    }
+
+    private static Map<Long, Long> countCars(Map<Long, CarRepository.VersionSummary> cars) {
+        return cars.values().stream().collect(Collectors.toMap(
+                CarRepository.VersionSummary::getOwnerId, CarRepository.VersionSummary::getCarCount));
+    }
+
+    /** The dealer representation embeds its cars, so their versions are part of the tag. */
+    private String tagOf(Dealer dealer) {
+        return addToTag(ETags.builder(), dealer, summarizeCars(List.of(dealer.getId())).get(dealer.getId())).build();
+    }
+
+    private Map<Long, CarRepository.VersionSummary> summarizeCars(List<Long> dealerIds) {
+        if (dealerIds.isEmpty()) {
+            return Map.of();
+        }
+        return carRepository.summarizeVersionsByDealerIds(dealerIds).stream()
+                .collect(Collectors.toMap(CarRepository.VersionSummary::getOwnerId, Function.identity()));
+    }
+
+    private static ETags.Builder addToTag(ETags.Builder tag, Dealer dealer, CarRepository.VersionSummary cars) {
+        tag.add(dealer.getId()).add(dealer.getVersion());
+        return cars == null
+                ? tag.add(0L)
+                : tag.add(cars.getCarCount()).add(cars.getVersionSum()).add(cars.getMaxCarId());
+    }
+
+    private void validateBulkUpdate(CarBulkUpdateDto update) {
+        if (update == null) {
+            throw new ValidationException(ErrorMessages.BULK_UPDATE_DATA_NULL);
+        }
+        if (update.getPriceFactor() == null && update.getPriceDelta() == null && update.getNewColor() == null) {
+            throw new ValidationException(ErrorMessages.BULK_UPDATE_NO_OPERATION);
+        }
+        if (update.getPriceFactor() != null && update.getPriceFactor() <= 0) {
+            throw new ValidationException(ErrorMessages.INVALID_PRICE_FACTOR);
+        }
+        if (update.getNewColor() != null) {
+            carValidator.validateColor(update.getNewColor());
+        }
+        carValidator.validateRange("year", update.getMinYear(), update.getMaxYear());
+        carValidator.validateRange("price", update.getMinPrice(), update.getMaxPrice());
+    }
+}
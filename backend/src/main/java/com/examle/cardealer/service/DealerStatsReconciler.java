@@ -0,0 +1,40 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.repository.DealerRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background job that recomputes the dealer statistics from the cars.
+ * It fills the table on the first start and repairs rows that drifted, for example after
+ * direct database changes. Every dealer is reconciled in its own short transaction.
+ */
+@Service
+public class DealerStatsReconciler {
+
+    private final DealerStatsService dealerStatsService;
+    private final DealerRepository dealerRepository;
+
+    /**
+     * Constructor for DealerStatsReconciler.
+     *
+     * @param dealerStatsService the dealer statistics service
+     * @param dealerRepository   the dealer repository
+     */
+    public DealerStatsReconciler(DealerStatsService dealerStatsService, DealerRepository dealerRepository) {
+        this.dealerStatsService = dealerStatsService;
+        this.dealerRepository = dealerRepository;
+    }
+
+    /**
+     * Reconciles the statistics of all dealers, right after startup and then every 15 minutes
+     * unless {@code dealer-stats.reconcile-delay} says otherwise.
+     */
+    @Scheduled(fixedDelayString = "${dealer-stats.reconcile-delay:PT15M}")
+    public void reconcile() {
+        dealerStatsService.deleteOrphans();
+        for (Long dealerId : dealerRepository.findAllIds()) {
+            dealerStatsService.reconcileDealer(dealerId);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.BrandStatsDto;
+import com.example.cardealer.dto.DealerStatsDto;
+import com.example.cardealer.exception.ResourceNotFoundException;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.model.DealerBrandStats;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.DealerBrandStatsRepository;
+import com.example.cardealer.repository.DealerRepository;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+
+/**
+ * Inventory statistics per dealer and brand, maintained incrementally.
+ * Car and order writes add their deltas to the {@code dealer_brand_stats} rows in their own
+ * transaction with single-statement upserts, so reading the statistics of a dealer touches one
+ * row per brand instead of all of its cars. Set-based writes summarize the affected cars before
+ * changing them. {@link DealerStatsReconciler} recomputes the rows periodically to repair drift.
+ */
+@Service
+@Transactional
+public class DealerStatsService {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private final DealerBrandStatsRepository statsRepository;
+    private final CarRepository carRepository;
+    private final DealerRepository dealerRepository;
+
+    /**
+     * Constructor for DealerStatsService.
+     *
+     * @param statsRepository  the dealer statistics repository
+     * @param carRepository    the car repository
+     * @param dealerRepository the dealer repository
+     */
+    public DealerStatsService(DealerBrandStatsRepository statsRepository,
+                              CarRepository carRepository,
+                              DealerRepository dealerRepository) {
+        this.statsRepository = statsRepository;
+        this.carRepository = carRepository;
+        this.dealerRepository = dealerRepository;
+    }
+
+    /**
+     * Returns the maintained inventory statistics of a dealer.
+     *
+     * @param dealerId the dealer ID
+     * @return totals and per-brand statistics ordered by brand
+     * @throws ResourceNotFoundException if the dealer is not found
+     */
+    public DealerStatsDto getDealerStats(Long dealerId) {
+        if (dealerId == null || dealerId < 1) {
+            throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
+        }
+        if (!dealerRepository.existsById(dealerId)) {
+            throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId);
+        }
+
+        List<DealerBrandStats> rows = statsRepository.findByDealerIdAndCarCountGreaterThanOrderByBrandKey(dealerId, 0);
+        long carCount = 0;
+        long orderedCount = 0;
+        double totalPrice = 0;
+        double totalMileage = 0;
+        for (DealerBrandStats row : rows) {
+            carCount += row.getCarCount();
+            orderedCount += row.getOrderedCount();
+            totalPrice += row.getTotalPrice();
+            totalMileage += row.getTotalMileage();
+        }
+        List<BrandStatsDto> brands = rows.stream()
+                .map(row -> new BrandStatsDto(row.getBrand(), row.getCarCount(), row.getOrderedCount(),
+                        row.getTotalPrice(), row.getTotalPrice() / row.getCarCount(),
+                        row.getTotalMileage() / row.getCarCount()))
+                .toList();
+        return new DealerStatsDto(dealerId, carCount, orderedCount, totalPrice,
+                carCount == 0 ? null : totalPrice / carCount,
+                carCount == 0 ? null : totalMileage / carCount,
+                brands);
+    }
+
+    /**
+     * Counts new cars.
+     *
+     * @param cars the saved cars
+     */
+    public void carsAdded(Collection<Car> cars) {
+        Deltas deltas = new Deltas();
+        cars.forEach(car -> deltas.add(CarState.of(car), 1));
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Counts a new car.
+     *
+     * @param car the saved car
+     */
+    public void carAdded(Car car) {
+        carsAdded(List.of(car));
+    }
+
+    /**
+     * Moves a changed car between statistics rows or adjusts its row.
+     *
+     * @param before state of the car before the change, taken with {@link CarState#of}
+     * @param after  the changed car
+     */
+    public void carChanged(CarState before, Car after) {
+        CarState current = CarState.of(after);
+        if (Objects.equals(current, before)) {
+            return;
+        }
+        Deltas deltas = new Deltas();
+        deltas.add(before, -1);
+        deltas.add(current, 1);
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Counts cars that were put into an order or taken out of one.
+     *
+     * @param cars  the cars
+     * @param delta 1 when the cars were ordered, -1 when they were released
+     */
+    public void carsOrdered(Collection<Car> cars, int delta) {
+        Deltas deltas = new Deltas();
+        for (Car car : cars) {
+            CarState state = CarState.of(car);
+            if (state != null) {
+                deltas.row(state.dealerId(), state.brandKey(), state.brand()).orderedCount += delta;
+            }
+        }
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Uncounts cars deleted with set-based statements.
+     *
+     * @param stock summary of the cars taken before they were deleted
+     */
+    public void stockRemoved(List<CarRepository.BrandStock> stock) {
+        Deltas deltas = new Deltas();
+        stock.forEach(item -> deltas.add(item, -1));
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Replaces the totals of cars changed with set-based statements.
+     *
+     * @param before summary of the cars taken before the change
+     * @param after  summary of the same cars taken after the change
+     */
+    public void stockChanged(List<CarRepository.BrandStock> before, List<CarRepository.BrandStock> after) {
+        Deltas deltas = new Deltas();
+        before.forEach(item -> deltas.add(item, -1));
+        after.forEach(item -> deltas.add(item, 1));
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Uncounts the ordered cars of orders deleted with set-based statements.
+     *
+     * @param stock summary of the cars of the orders taken before they were released
+     */
+    public void stockReleased(List<CarRepository.BrandStock> stock) {
+        orderedStockChanged(stock, List.of());
+    }
+
+    /**
+     * Adjusts the ordered counts after the cars of an order were replaced with set-based statements.
+     *
+     * @param before summary of the cars of the order taken before the change
+     * @param after  summary of the cars of the order taken after the change
+     */
+    public void orderedStockChanged(List<CarRepository.BrandStock> before, List<CarRepository.BrandStock> after) {
+        Deltas deltas = new Deltas();
+        for (CarRepository.BrandStock item : before) {
+            deltas.row(item.getDealerId(), item.getBrandKey(), item.getBrand()).orderedCount -= item.getOrderedCount();
+        }
+        for (CarRepository.BrandStock item : after) {
+            deltas.row(item.getDealerId(), item.getBrandKey(), item.getBrand()).orderedCount += item.getOrderedCount();
+        }
+        deltas.apply(statsRepository);
+    }
+
+    /**
+     * Drops the statistics of a deleted dealer.
+     *
+     * @param dealerId the dealer ID
+     */
+    public void dealerDeleted(Long dealerId) {
+        statsRepository.deleteAllByDealerId(dealerId);
+    }
+
+    /**
+     * Recomputes the statistics of one dealer from its cars and rewrites the rows that drifted.
+     * The rows are locked first, so concurrent deltas wait and are added on top of the result.
+     *
+     * @param dealerId the dealer ID
+     * @return number of repaired rows
+     */
+    public int reconcileDealer(Long dealerId) {
+        Map<String, DealerBrandStats> stored = statsRepository.lockByDealerId(dealerId).stream()
+                .collect(Collectors.toMap(DealerBrandStats::getBrandKey, Function.identity()));
+        int repaired = 0;
+        for (CarRepository.BrandStock stock : carRepository.summarizeStockByDealerId(dealerId)) {
+            if (stock.getBrandKey() == null) {
+                continue; // filled on startup by DealerBrandCache
+            }
+            DealerBrandStats row = stored.remove(stock.getBrandKey());
+            if (row == null || !matches(row, stock)) {
+                statsRepository.setTotals(dealerId, stock.getBrandKey(), stock.getBrand(), stock.getCarCount(),
+                        stock.getOrderedCount(), stock.getTotalPrice(), stock.getTotalMileage());
+                repaired++;
+            }
+        }
+        for (DealerBrandStats row : stored.values()) {
+            statsRepository.deleteInBulkById(row.getId());
+            if (row.getCarCount() != 0) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * Drops the statistics of dealers that no longer exist.
+     *
+     * @return number of deleted rows
+     */
+    public int deleteOrphans() {
+        return statsRepository.deleteOrphans();
+    }
+
+    private static boolean matches(DealerBrandStats row, CarRepository.BrandStock stock) {
+        return row.getCarCount() == stock.getCarCount()
+                && row.getOrderedCount() == stock.getOrderedCount()
+                && isClose(row.getTotalPrice(), stock.getTotalPrice())
+                && isClose(row.getTotalMileage(), stock.getTotalMileage());
+    }
+
+    private static boolean isClose(double stored, double actual) {
+        return Math.abs(stored - actual) <= TOLERANCE * Math.max(1, Math.abs(actual));
+    }
+
+    /**
+     * Attributes of a car that its statistics row depends on.
+     *
+     * @param dealerId the dealer ID
+     * @param brandKey the normalized brand
+     * @param brand    the brand as entered
+     * @param price    the price
+     * @param mileage  the mileage
+     * @param ordered  whether the car belongs to an order
+     */
+    public record CarState(Long dealerId, String brandKey, String brand, double price, double mileage,
+                           boolean ordered) {
+
+        /**
+         * Captures the current state of a car.
+         *
+         * @param car the car
+         * @return the state, or {@code null} for a car without dealer or brand
+         */
+        public static CarState of(Car car) {
+            String brandKey = Car.normalizeBrand(car.getBrand());
+            if (car.getDealer() == null || brandKey == null) {
+                return null;
+            }
+            return new CarState(car.getDealer().getId(), brandKey, car.getBrand().trim(),
+                    car.getPrice(), car.getMileage(), car.getOrder() != null);
+        }
+    }
+
+    /** Deltas of one transaction merged per row, so every row is written once. */
+    private static final class Deltas {
+        private final Map<String, Row> rows = new LinkedHashMap<>();
+
+        private Row row(Long dealerId, String brandKey, String brand) {
+            return rows.computeIfAbsent(dealerId + "\u0000" + brandKey, key -> new Row(dealerId, brandKey, brand));
+        }
+
+        private void add(CarState state, int sign) {
+            if (state == null) {
+                return;
+            }
+            Row row = row(state.dealerId(), state.brandKey(), state.brand());
+            row.carCount += sign;
+            row.orderedCount += state.ordered() ? sign : 0;
+            row.totalPrice += sign * state.price();
+            row.totalMileage += sign * state.mileage();
+        }
+
+        private void add(CarRepository.BrandStock stock, int sign) {
+            Row row = row(stock.getDealerId(), stock.getBrandKey(), stock.getBrand());
+            row.carCount += sign * stock.getCarCount();
+            row.orderedCount += sign * stock.getOrderedCount();
+            row.totalPrice += sign * stock.getTotalPrice();
+            row.totalMileage += sign * stock.getTotalMileage();
+        }
+
+        private void apply(DealerBrandStatsRepository repository) {
+            for (Row row : rows.values()) {
+                if (row.brandKey != null && !row.isEmpty()) {
+                    repository.addDelta(row.dealerId, row.brandKey, row.brand, row.carCount, row.orderedCount,
+                            row.totalPrice, row.totalMileage);
+                }
+            }
+        }
+    }
+
+    /** Pending change of one statistics row. */
+    private static final class Row {
+        private final Long dealerId;
+        private final String brandKey;
+        private final String brand;
+        private long carCount;
+        private long orderedCount;
+        private double totalPrice;
+        private double totalMileage;
+
+        private Row(Long dealerId, String brandKey, String brand) {
+            this.dealerId = dealerId;
+            this.brandKey = brandKey;
+            this.brand = brand;
+        }
+
+        private boolean isEmpty() {
+            return carCount == 0 && orderedCount == 0 && totalPrice == 0 && totalMileage == 0;
+        }
+    }
+}
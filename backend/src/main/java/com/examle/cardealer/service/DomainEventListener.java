@@ -0,0 +1,20 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.model.OutboxEvent;
+import java.util.List;
+
+/**
+ * Receiver of the domain events delivered by {@link OutboxDispatcher}.
+ * Every bean implementing it is registered. Delivery is at least once: a batch is delivered
+ * again when any listener fails on it or the application stops before it is acknowledged,
+ * so listeners must tolerate repeated events, for example by remembering the IDs of handled events.
+ */
+public interface DomainEventListener {
+
+    /**
+     * Handles a batch of events.
+     *
+     * @param events events in the order they were written
+     */
+    void onEvents(List<OutboxEvent> events);
+}
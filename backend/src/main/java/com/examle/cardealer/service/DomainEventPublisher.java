@@ -0,0 +1,132 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.exception.InternalServerException;
+import com.example.cardealer.model.OutboxEvent;
+import com.example.cardealer.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes domain events to the outbox table.
+ * It joins the transaction of the calling service, so an event is stored if and only if the
+ * change it describes is committed. Just before the commit the transaction numbers its events
+ * under an advisory lock, which gives the delivery order; {@link OutboxDispatcher} delivers
+ * the numbered events. The lock is held from numbering until the commit completes, so the
+ * commits of transactions that publish events run one at a time; transactions without events
+ * never take it.
+ */
+@Service
+@Transactional
+public class DomainEventPublisher {
+
+    private static final String INSERT_ALL_SQL = "INSERT INTO outbox_events (aggregate, aggregate_id, type, "
+            + "created_at) SELECT ?, t.id, ?, ? FROM unnest(?::int8[]) WITH ORDINALITY AS t(id, n) ORDER BY t.n";
+
+    private final OutboxEventRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for DomainEventPublisher.
+     *
+     * @param outboxRepository the outbox repository
+     * @param jdbcTemplate     the JDBC template
+     * @param objectMapper     the JSON mapper
+     */
+    public DomainEventPublisher(OutboxEventRepository outboxRepository, JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records a change of one entity.
+     *
+     * @param aggregate   kind of the entity
+     * @param aggregateId ID of the entity
+     * @param type        what happened
+     * @param payload     the entity after the change, {@code null} for none
+     */
+    public void publish(OutboxEvent.Aggregate aggregate, Long aggregateId, OutboxEvent.Type type, Object payload) {
+        outboxRepository.save(new OutboxEvent(null, aggregate, aggregateId, type, toJson(payload), new Date(),
+                null, null));
+        sequenceBeforeCommit();
+    }
+
+    /**
+     * Records a set-based change of several entities, without payloads.
+     * All events are written with one {@code INSERT ... SELECT FROM unnest(...)} statement.
+     *
+     * @param aggregate    kind of the entities
+     * @param aggregateIds IDs of the entities
+     * @param type         what happened
+     */
+    public void publishAll(OutboxEvent.Aggregate aggregate, Collection<Long> aggregateIds, OutboxEvent.Type type) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ALL_SQL);
+            statement.setString(1, aggregate.name());
+            statement.setString(2, type.name());
+            statement.setTimestamp(3, now);
+            statement.setArray(4, connection.createArrayOf("int8", aggregateIds.toArray()));
+            return statement;
+        });
+        sequenceBeforeCommit();
+    }
+
+    /**
+     * Records that a user added or removed a favorite car.
+     *
+     * @param userId the user ID
+     * @param carId  the car ID
+     * @param type   {@code CREATED} when added, {@code DELETED} when removed
+     */
+    public void publishFavorite(Long userId, Long carId, OutboxEvent.Type type) {
+        publish(OutboxEvent.Aggregate.FAVORITE, userId, type, Map.of("userId", userId, "carId", carId));
+    }
+
+    /** Numbers the events of the current transaction, found by its transaction ID, when it commits. */
+    private void sequenceBeforeCommit() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                outboxRepository.lock(OutboxEventRepository.SEQUENCE_LOCK);
+                outboxRepository.assignDeliverySeq();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventPublisher.this);
+            }
+        });
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.config.CacheConfig;
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.exception.ConflictException;
+import com.example.cardealer.exception.InternalServerException;
+import com.example.cardealer.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Replays the responses of create requests repeated with the same {@code Idempotency-Key}.
+ * The first request claims the key with a fingerprint of its body, runs and stores its response
+ * as JSON. Later requests with the key get the stored response from one cache lookup, without
+ * running the action again. The store is bounded and entries expire, see {@link CacheConfig}.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for IdempotencyStore.
+     *
+     * @param cacheManager the application cache manager
+     * @param objectMapper the JSON mapper
+     */
+    public IdempotencyStore(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs a create action once per idempotency key.
+     *
+     * @param scope        operation the key belongs to, e.g. {@code POST /api/orders}
+     * @param key          value of the {@code Idempotency-Key} header, the action always runs without it
+     * @param request      request body the key is bound to
+     * @param responseType type of the response
+     * @param action       the create action
+     * @param <T>          response type
+     * @return the response of the action, or the stored response of the first request with the key
+     * @throws ValidationException if the key is empty or too long
+     * @throws ConflictException   if the key was used with another body or its first request is still running
+     */
+    public <T> T execute(String scope, String key, Object request, TypeReference<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(ErrorMessages.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        String cacheKey = scope + ' ' + key;
+        Entry claim = new Entry(fingerprint(request), null);
+        Cache.ValueWrapper existing = cache.putIfAbsent(cacheKey, claim);
+        if (existing != null) {
+            Entry entry = (Entry) existing.get();
+            if (!entry.fingerprint().equals(claim.fingerprint())) {
+                throw new ConflictException(ErrorMessages.IDEMPOTENCY_KEY_REUSED);
+            }
+            if (entry.response() == null) {
+                throw new ConflictException(ErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+            return read(entry.response(), responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Failed requests leave nothing behind, so the client may retry with the same key.
+            cache.evict(cacheKey);
+            throw e;
+        }
+        cache.put(cacheKey, new Entry(claim.fingerprint(), write(response)));
+        return response;
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new InternalServerException(e.getMessage());
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException(e.getMessage());
+        }
+    }
+
+    private <T> T read(String response, TypeReference<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new InternalServerException(e.getMessage());
+        }
+    }
+
+    /** Fingerprint of the request that claimed a key and its JSON response, {@code null} while running. */
+    private record Entry(String fingerprint, String response) {}
+}
@@ -0,0 +1,97 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.OrderDto;
+import com.example.cardealer.dto.Tagged;
+import com.example.cardealer.exception.ConflictException;
+import jakarta.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry point for order writes that reruns a transaction which lost an optimistic version check.
+ * Every attempt is a new {@link OrderService} transaction, so it sees the committed winner.
+ * Attempts are spaced with exponential backoff and full jitter, so the losers of one conflict
+ * do not collide again on the next attempt.
+ */
+@Service
+public class OrderCheckoutService {
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private static final long BASE_BACKOFF_MILLIS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    private final OrderService orderService;
+
+    /**
+     * Constructor for OrderCheckoutService.
+     *
+     * @param orderService the order service
+     */
+    public OrderCheckoutService(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * Creates an order with the configured claim strategy.
+     *
+     * @param orderDto the order DTO
+     * @return the created order DTO
+     * @throws ConflictException if a car is already ordered or the retries are exhausted
+     */
+    public OrderDto createOrder(OrderDto orderDto) {
+        return withRetry(() -> orderService.createOrder(orderDto), () -> { });
+    }
+
+    /**
+     * Updates an order with the configured claim strategy.
+     *
+     * @param id       the order ID
+     * @param orderDto the updated order DTO
+     * @param ifMatch  tag the client based its change on (optional)
+     * @return the updated order DTO and its new tag
+     * @throws ConflictException if a car is ordered by another order or the retries are exhausted
+     */
+    public Tagged<OrderDto> updateOrder(Long id, OrderDto orderDto, String ifMatch) {
+        return withRetry(() -> orderService.updateOrder(id, orderDto, ifMatch), () -> { });
+    }
+
+    /**
+     * Creates an order with an explicit claim strategy.
+     *
+     * @param orderDto the order DTO
+     * @param strategy the car claim strategy
+     * @param onRetry  called before every repeated attempt
+     * @return the created order DTO
+     */
+    OrderDto createOrder(OrderDto orderDto, OrderService.ClaimStrategy strategy, Runnable onRetry) {
+        return withRetry(() -> orderService.createOrder(orderDto, strategy), onRetry);
+    }
+
+    private static <T> T withRetry(Supplier<T> attempt, Runnable onRetry) {
+        for (int i = 1; ; i++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (i == MAX_ATTEMPTS) {
+                    throw new ConflictException(ErrorMessages.CONCURRENT_MODIFICATION);
+                }
+                onRetry.run();
+                sleep(ThreadLocalRandom.current().nextLong(
+                        Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << i) + 1));
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(ErrorMessages.CONCURRENT_MODIFICATION);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.dto.CarDto;
+import com.example.cardealer.dto.DealerDto;
+import com.example.cardealer.dto.OrderContentionDto;
+import com.example.cardealer.dto.OrderContentionReportDto;
+import com.example.cardealer.dto.OrderDto;
+import com.example.cardealer.dto.UserDto;
+import com.example.cardealer.exception.ConflictException;
+import com.example.cardealer.exception.InternalServerException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Contention benchmark of the order claim strategies.
+ * A scratch dealer with a few hot cars and a scratch user are created, then concurrent threads
+ * order random hot cars and delete every created order again, so the cars return to the pool.
+ * Every strategy runs on the same fixture, which is deleted afterwards. The benchmark writes
+ * real data and outbox events, so it is only created with the {@value #PROFILE} profile.
+ */
+@Service
+@Profile(OrderContentionBenchmarkService.PROFILE)
+public class OrderContentionBenchmarkService {
+
+    /** Spring profile enabling the benchmark. */
+    public static final String PROFILE = "benchmark";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final OrderCheckoutService orderCheckoutService;
+    private final OrderService orderService;
+    private final DealerService dealerService;
+    private final CarService carService;
+    private final UserService userService;
+
+    /**
+     * Constructor for OrderContentionBenchmarkService.
+     *
+     * @param orderCheckoutService the retrying order entry point
+     * @param orderService         the order service
+     * @param dealerService        the dealer service
+     * @param carService           the car service
+     * @param userService          the user service
+     */
+    public OrderContentionBenchmarkService(OrderCheckoutService orderCheckoutService,
+                                           OrderService orderService,
+                                           DealerService dealerService,
+                                           CarService carService,
+                                           UserService userService) {
+        this.orderCheckoutService = orderCheckoutService;
+        this.orderService = orderService;
+        this.dealerService = dealerService;
+        this.carService = carService;
+        this.userService = userService;
+    }
+
+    /**
+     * Drives concurrent checkouts of a small hot set of cars with every claim strategy.
+     *
+     * @param hotCars            number of cars all checkouts compete for
+     * @param threads            concurrent client threads
+     * @param checkoutsPerThread checkout attempts per thread and strategy
+     * @return throughput, abort rate and latency percentiles per strategy
+     */
+    public OrderContentionReportDto benchmark(int hotCars, int threads, int checkoutsPerThread) {
+        long run = System.currentTimeMillis();
+        DealerDto dealer = dealerService.createDealer(scratchDealer(run));
+        UserDto user = null;
+        try {
+            user = userService.createUser(scratchUser(run));
+            List<Long> carIds = carService.createCarsBulk(scratchCars(run, dealer.getId(), hotCars)).stream()
+                    .map(CarDto::getId)
+                    .toList();
+
+            List<OrderContentionDto> results = new ArrayList<>();
+            for (OrderService.ClaimStrategy strategy : OrderService.ClaimStrategy.values()) {
+                results.add(measure(strategy, user.getId(), carIds, threads, checkoutsPerThread));
+            }
+            String fastest = results.stream()
+                    .max(Comparator.comparingDouble(OrderContentionDto::getThroughputPerSecond))
+                    .map(OrderContentionDto::getStrategy)
+                    .orElse(null);
+            return new OrderContentionReportDto(hotCars, threads, checkoutsPerThread, fastest, results);
+        } finally {
+            dealerService.deleteDealer(dealer.getId());
+            if (user != null) {
+                userService.deleteUser(user.getId());
+            }
+        }
+    }
+
+    private OrderContentionDto measure(OrderService.ClaimStrategy strategy, Long userId, List<Long> carIds,
+                                       int threads, int checkoutsPerThread) {
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong aborted = new AtomicLong();
+        AtomicLong retries = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[checkoutsPerThread];
+                    start.await();
+                    for (int i = 0; i < checkoutsPerThread; i++) {
+                        OrderDto order = new OrderDto();
+                        order.setUserId(userId);
+                        order.setCarIds(List.of(carIds.get(ThreadLocalRandom.current().nextInt(carIds.size()))));
+                        long begin = System.nanoTime();
+                        try {
+                            OrderDto created = orderCheckoutService.createOrder(order, strategy, retries::incrementAndGet);
+                            latencies[i] = System.nanoTime() - begin;
+                            succeeded.incrementAndGet();
+                            orderService.deleteOrder(created.getId());
+                        } catch (ConflictException e) {
+                            latencies[i] = System.nanoTime() - begin;
+                            aborted.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            long[] latencies = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + part.length);
+                System.arraycopy(part, 0, latencies, offset, part.length);
+            }
+            double seconds = (System.nanoTime() - begin) / NANOS_PER_SECOND;
+            Arrays.sort(latencies);
+
+            long attempts = succeeded.get() + aborted.get();
+            return new OrderContentionDto(strategy.name(), attempts, succeeded.get(), aborted.get(), retries.get(),
+                    attempts == 0 ? 0 : (double) aborted.get() / attempts,
+                    seconds == 0 ? 0 : succeeded.get() / seconds,
+                    percentile(latencies, 50), percentile(latencies, 99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / NANOS_PER_MILLI);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalServerException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InternalServerException(e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DealerDto scratchDealer(long run) {
+        DealerDto dealer = new DealerDto();
+        dealer.setName("Contention Benchmark " + run);
+        dealer.setAddress("Benchmark lane " + run);
+        dealer.setPhoneNumber("+" + run % 1_000_000_000_000L);
+        return dealer;
+    }
+
+    private static UserDto scratchUser(long run) {
+        UserDto user = new UserDto();
+        user.setUsername("contention_benchmark_" + run);
+        return user;
+    }
+
+    private static List<CarDto> scratchCars(long run, Long dealerId, int count) {
+        List<CarDto> cars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CarDto car = new CarDto();
+            car.setVin(String.format("BNCH%013d", run % 100_000_000_000L * 100 + i));
+            car.setModel("Hot");
+            car.setBrand("Benchmark");
+            car.setYear(2020);
+            car.setPrice(10_000);
+            car.setColor("Red");
+            car.setMileage(0);
+            car.setDealerId(dealerId);
+            cars.add(car);
+        }
+        return cars;
+    }
+
+    /** Nearest-rank percentile of sorted nanosecond timings, in milliseconds. */
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / NANOS_PER_MILLI;
+    }
+}
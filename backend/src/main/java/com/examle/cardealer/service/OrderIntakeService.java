@@ -0,0 +1,183 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.config.CacheConfig;
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.OrderDto;
+import com.example.cardealer.exception.ResourceNotFoundException;
+import com.example.cardealer.exception.ServiceUnavailableException;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.OrderTicket;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous order intake.
+ * Requests only check the order shape, put it into a bounded queue and get a ticket back, so a
+ * burst of orders holds request threads for microseconds instead of a whole checkout. Worker
+ * threads drain the queue in small batches and create each batch in one transaction. When a
+ * batch fails, its orders are retried one by one through {@link OrderCheckoutService}, so one
+ * conflicting order does not fail its neighbours. A full queue rejects new orders instead of
+ * growing. Orders still queued when the application stops are lost and their tickets expire.
+ */
+@Service
+public class OrderIntakeService {
+
+    private final OrderService orderService;
+    private final OrderCheckoutService orderCheckoutService;
+    private final Cache ticketCache;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final int workers;
+    private final AtomicLong idCounter = new AtomicLong(1);
+    private ExecutorService executor;
+
+    /**
+     * Constructor for OrderIntakeService.
+     *
+     * @param orderService         the order service
+     * @param orderCheckoutService the retrying order entry point
+     * @param cacheManager         the application cache manager
+     * @param queueCapacity        maximum number of waiting orders, {@code orders.intake.queue-capacity}
+     * @param batchSize            maximum orders per transaction, {@code orders.intake.batch-size}
+     * @param workers              number of worker threads, {@code orders.intake.workers}
+     */
+    public OrderIntakeService(OrderService orderService,
+                              OrderCheckoutService orderCheckoutService,
+                              CacheManager cacheManager,
+                              @Value("${orders.intake.queue-capacity:1000}") int queueCapacity,
+                              @Value("${orders.intake.batch-size:20}") int batchSize,
+                              @Value("${orders.intake.workers:2}") int workers) {
+        this.orderService = orderService;
+        this.orderCheckoutService = orderCheckoutService;
+        this.ticketCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ORDER_TICKETS));
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.workers = workers;
+    }
+
+    /** Starts the worker threads once the application is ready. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger number = new AtomicInteger(1);
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "OrderIntake-" + number.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /** Stops the worker threads. */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Accepts an order for asynchronous creation.
+     *
+     * @param orderDto the order DTO
+     * @return id of the ticket
+     * @throws ValidationException         if the order has no cars or no user
+     * @throws ServiceUnavailableException if the queue is full
+     */
+    public Long enqueue(OrderDto orderDto) {
+        if (orderDto == null) {
+            throw new ValidationException(ErrorMessages.ORDER_DATA_NULL);
+        }
+        if (orderDto.getCarIds() == null || orderDto.getCarIds().isEmpty()) {
+            throw new ValidationException(ErrorMessages.ORDER_NO_CARS);
+        }
+        if (orderDto.getUserId() == null) {
+            throw new ValidationException(ErrorMessages.ORDER_NO_USER);
+        }
+
+        OrderTicket ticket = new OrderTicket(idCounter.getAndIncrement(), "QUEUED");
+        ticketCache.put(ticket.getId(), ticket);
+        if (!queue.offer(new Pending(ticket, orderDto))) {
+            ticketCache.evict(ticket.getId());
+            throw new ServiceUnavailableException(ErrorMessages.ORDER_QUEUE_FULL);
+        }
+        return ticket.getId();
+    }
+
+    /** Function to get status of an asynchronous order.
+     *
+     * @param ticketId id of the ticket
+     * @return object of OrderTicket class
+     */
+    public OrderTicket getStatus(Long ticketId) {
+        OrderTicket ticket = ticketCache.get(ticketId, OrderTicket.class);
+        if (ticket == null) {
+            throw new ResourceNotFoundException(ErrorMessages.TASK_NOT_FOUND + ticketId);
+        }
+        return ticket;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Pending> batch) {
+        batch.forEach(pending -> update(pending.ticket(), "IN_PROGRESS", null, null));
+        List<OrderDto> created;
+        try {
+            created = orderService.createOrders(batch.stream().map(Pending::order).toList());
+        } catch (RuntimeException e) {
+            // The batch was rolled back as a whole, so every order is still to be created.
+            batch.forEach(this::processOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            update(batch.get(i).ticket(), "COMPLETED", created.get(i).getId(), null);
+        }
+    }
+
+    private void processOne(Pending pending) {
+        try {
+            OrderDto created = orderCheckoutService.createOrder(pending.order());
+            update(pending.ticket(), "COMPLETED", created.getId(), null);
+        } catch (RuntimeException e) {
+            update(pending.ticket(), "FAILED", null, e.getMessage());
+        }
+    }
+
+    private void update(OrderTicket ticket, String status, Long orderId, String errorMessage) {
+        ticket.setStatus(status);
+        ticket.setOrderId(orderId);
+        ticket.setErrorMessage(errorMessage);
+        ticketCache.put(ticket.getId(), ticket);
+    }
+
+    /** Order waiting in the queue with its ticket. */
+    private record Pending(OrderTicket ticket, OrderDto order) {}
+}
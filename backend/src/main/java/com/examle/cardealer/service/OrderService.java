@@ -1,22 +1,38 @@
 package com.example.cardealer.service;
 
 import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.CursorPage;
 import com.example.cardealer.dto.OrderDto;
+import com.example.cardealer.dto.OrderFilterDto;
+import com.example.cardealer.dto.Tagged;
 import com.example.cardealer.exception.ConflictException;
+import com.example.cardealer.exception.PreconditionFailedException;
 import com.example.cardealer.exception.ResourceNotFoundException;
 import com.example.cardealer.exception.ValidationException;
 import com.example.cardealer.mapper.OrderMapper;
 import com.example.cardealer.model.Car;
 import com.example.cardealer.model.Order;
+import com.example.cardealer.model.OutboxEvent;
 import com.example.cardealer.model.User;
 import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.KeysetPager;
 import com.example.cardealer.repository.OrderRepository;
+import com.example.cardealer.repository.OrderSpecifications;
+import com.example.cardealer.util.ETags;
+import com.example.cardealer.util.FieldSelection;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 /**
@@ -26,9 +42,27 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class OrderService {
 
+    /** How the cars of an order are protected against concurrent checkouts. */
+    public enum ClaimStrategy {
+        /** Cars are locked with SELECT ... FOR UPDATE and then claimed through the persistence context. */
+        PESSIMISTIC,
+        /** Cars are read without locks and claimed with version-checked updates; losers retry. */
+        OPTIMISTIC
+    }
+
+    private static final Map<String, Function<Order, Object>> SORT_KEYS = Map.of(
+            "id", Order::getId,
+            "orderDate", Order::getOrderDate,
+            "totalPrice", Order::getTotalPrice);
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final CarRepository carRepository;
+    private final KeysetPager keysetPager;
+    private final DealerStatsService dealerStatsService;
+    private final SalesRollupService salesRollupService;
+    private final DomainEventPublisher eventPublisher;
+    private final ClaimStrategy claimStrategy;
 
     /**
      * Constructor for OrderService.
@@ -36,57 +70,134 @@ public class OrderService {
      * @param orderRepository the order repository
      * @param orderMapper     the order mapper
      * @param carRepository   the car repository
+     * @param keysetPager     the keyset pager
+     * @param dealerStatsService the dealer statistics service
+     * @param salesRollupService the sales rollup service
+     * @param eventPublisher the domain event publisher
+     * @param claimStrategy   default car claim strategy, {@code orders.claim-strategy}
      */
     public OrderService(OrderRepository orderRepository,
                         OrderMapper orderMapper,
-                        CarRepository carRepository) {
+                        CarRepository carRepository,
+                        KeysetPager keysetPager,
+                        DealerStatsService dealerStatsService,
+                        SalesRollupService salesRollupService,
+                        DomainEventPublisher eventPublisher,
+                        @Value("${orders.claim-strategy:PESSIMISTIC}") ClaimStrategy claimStrategy) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
         this.carRepository = carRepository;
+        this.keysetPager = keysetPager;
+        this.dealerStatsService = dealerStatsService;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
+        this.claimStrategy = claimStrategy;
+    }
+
+    /**
+     * Retrieves one page of orders using keyset pagination.
+     *
+     * @param sort        sort key: id, orderDate or totalPrice
+     * @param direction   sort direction: asc or desc
+     * @param cursor      cursor returned with the previous page (optional)
+     * @param limit       page size (optional)
+     * @param fields      comma-separated fields to return (optional, all by default)
+     * @param expand      nested collections to return: cars (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return page of orders and its tag, without the page when the client copy is current
+     */
+    public Tagged<CursorPage<OrderDto>> getAllOrders(String sort, String direction, String cursor, Integer limit,
+                                                     String fields, String expand, String ifNoneMatch) {
+        return listOrders(null, sort, direction, cursor, limit, fields, expand, ifNoneMatch);
     }
 
     /**
-     * Retrieves all orders.
+     * Searches orders by the supplied filters using keyset pagination. Only non-null filters
+     * become SQL predicates; a user filter is served by {@code orders(user_id, order_date, id)}
+     * and car or dealer filters by {@code cars(order_id, dealer_id)}.
      *
-     * @return a list of all orders
+     * @param filter      optional filters, dates are days in the dealership time zone
+     * @param sort        sort key: id, orderDate or totalPrice
+     * @param direction   sort direction: asc or desc
+     * @param cursor      cursor returned with the previous page (optional)
+     * @param limit       page size (optional)
+     * @param fields      comma-separated fields to return (optional, all by default)
+     * @param expand      nested collections to return: cars (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return page of matching orders and its tag, without the page when the client copy is current
      */
-    public List<OrderDto> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(orderMapper::toDto)
-                .toList();
+    public Tagged<CursorPage<OrderDto>> searchOrders(OrderFilterDto filter, String sort, String direction,
+                                                     String cursor, Integer limit, String fields, String expand,
+                                                     String ifNoneMatch) {
+        validateRange("date", filter.getFromDate(), filter.getToDate());
+        validateRange("totalPrice", filter.getMinTotalPrice(), filter.getMaxTotalPrice());
+
+        Specification<Order> specification = Specification
+                .where(OrderSpecifications.userEquals(filter.getUserId()))
+                .and(OrderSpecifications.orderDateBetween(startOfDay(filter.getFromDate()),
+                        filter.getToDate() == null ? null : startOfDay(filter.getToDate().plusDays(1))))
+                .and(OrderSpecifications.totalPriceBetween(filter.getMinTotalPrice(), filter.getMaxTotalPrice()))
+                .and(OrderSpecifications.containsCar(filter.getCarId()))
+                .and(OrderSpecifications.containsCarOfDealer(filter.getDealerId()));
+        return listOrders(specification, sort, direction, cursor, limit, fields, expand, ifNoneMatch);
     }
 
     /**
      * Retrieves an order by its ID.
      *
-     * @param id the order ID
-     * @return the order DTO
+     * @param id          the order ID
+     * @param fields      comma-separated fields to return (optional, all by default)
+     * @param expand      nested collections to return: cars (optional)
+     * @param ifNoneMatch tag of the client copy (optional)
+     * @return the order DTO and its tag, without the DTO when the client copy is current
      * @throws ResourceNotFoundException if the order is not found
      */
-    public OrderDto getOrderById(Long id) {
+    public Tagged<OrderDto> getOrderById(Long id, String fields, String expand, String ifNoneMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_ORDER_ID);
         }
+        FieldSelection selection = FieldSelection.parse(fields, expand, OrderMapper.FIELDS, OrderMapper.EXPANSIONS);
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.ORDER_NOT_FOUND + id));
-        return orderMapper.toDto(order);
+        Map<Long, CarRepository.VersionSummary> cars = summarizeCars(List.of(id));
+        String etag = addToTag(ETags.builder(), order, cars.get(id)).build();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, orderMapper.toDtos(List.of(order), selection, countCars(cars)).get(0));
     }
 
     /**
-     * Creates a new order.
+     * Creates a new order with the configured claim strategy.
      *
      * @param orderDto the order DTO
      * @return the created order DTO
-     * @throws IllegalStateException if a car is already ordered
+     * @throws ConflictException if a car is already ordered
      */
     public OrderDto createOrder(OrderDto orderDto) {
+        return createOrder(orderDto, claimStrategy);
+    }
+
+    /**
+     * Creates a new order.
+     * With {@link ClaimStrategy#PESSIMISTIC} the cars are locked with one query before they are
+     * claimed, so concurrent orders of the same car are serialized. With
+     * {@link ClaimStrategy#OPTIMISTIC} the losing transaction fails its version check on commit
+     * and is retried by {@link OrderCheckoutService}.
+     *
+     * @param orderDto the order DTO
+     * @param strategy the car claim strategy
+     * @return the created order DTO
+     * @throws ConflictException if a car is already ordered
+     */
+    public OrderDto createOrder(OrderDto orderDto, ClaimStrategy strategy) {
         validateOrderDto(orderDto);
 
         Order order = orderMapper.toEntity(orderDto);
         order.setOrderDate(Date.from(ZonedDateTime.now(ZoneId.of("Europe/Moscow")).toInstant()));
 
-        List<Car> cars = validateAndGetOrderCars(orderDto.getCarIds());
+        List<Car> cars = loadOrderCars(orderDto.getCarIds(), strategy);
         validateCarsNotOrdered(cars);
 
         double totalPrice = calculateTotalPrice(cars);
@@ -95,8 +206,28 @@ public class OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
-        associateCarsWithOrder(cars, savedOrder);
-        return orderMapper.toDto(savedOrder);
+        claimCars(savedOrder, cars);
+        dealerStatsService.carsOrdered(cars, 1);
+        salesRollupService.ordersPlaced(List.of(savedOrder.getId()));
+        OrderDto created = orderMapper.toDto(savedOrder);
+        eventPublisher.publish(OutboxEvent.Aggregate.ORDER, savedOrder.getId(), OutboxEvent.Type.CREATED, created);
+        return created;
+    }
+
+    /**
+     * Creates several orders in one transaction with the configured claim strategy.
+     * If any of them fails, none is created.
+     *
+     * @param orderDtos the order DTOs
+     * @return the created order DTOs in the same order
+     * @throws ConflictException if a car is already ordered, also by an earlier order of the list
+     */
+    public List<OrderDto> createOrders(List<OrderDto> orderDtos) {
+        List<OrderDto> created = new ArrayList<>(orderDtos.size());
+        for (OrderDto orderDto : orderDtos) {
+            created.add(createOrder(orderDto, claimStrategy));
+        }
+        return created;
     }
 
     /**
@@ -104,11 +235,12 @@ public class OrderService {
      *
      * @param id       the order ID
      * @param orderDto the updated order DTO
-     * @return the updated order DTO
-     * @throws ResourceNotFoundException       if the order is not found
-     * @throws IllegalStateException if a car is already ordered
+     * @param ifMatch  tag the client based its change on (optional)
+     * @return the updated order DTO and its new tag
+     * @throws ResourceNotFoundException if the order is not found
+     * @throws ConflictException         if a car is ordered by another order
      */
-    public OrderDto updateOrder(Long id, OrderDto orderDto) {
+    public Tagged<OrderDto> updateOrder(Long id, OrderDto orderDto, String ifMatch) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_ORDER_ID);
         }
@@ -116,8 +248,16 @@ public class OrderService {
 
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.ORDER_NOT_FOUND + id));
+        if (ifMatch != null) {
+            String etag = tagOf(existingOrder);
+            if (!ETags.matches(ifMatch, etag)) {
+                throw new PreconditionFailedException(ErrorMessages.ETAG_MISMATCH + etag);
+            }
+        }
+        List<Long> orderIds = List.of(id);
+        List<CarRepository.SaleLine> salesBefore = salesRollupService.snapshot(orderIds);
 
-        List<Car> cars = validateAndGetOrderCars(orderDto.getCarIds());
+        List<Car> cars = loadOrderCars(orderDto.getCarIds(), claimStrategy);
         validateCarsNotOrdered(cars, existingOrder.getId());
 
         orderMapper.updateEntity(orderDto, existingOrder);
@@ -125,9 +265,19 @@ public class OrderService {
         existingOrder.setTotalPrice(calculateTotalPrice(cars));
 
         Order updatedOrder = orderRepository.save(existingOrder);
-        updateCarAssociations(existingOrder, cars);
-
-        return orderMapper.toDto(updatedOrder);
+        List<CarRepository.BrandStock> stockBefore = carRepository.summarizeStockByOrderIds(orderIds);
+        Set<Long> keptIds = cars.stream().map(Car::getId).collect(Collectors.toSet());
+        existingOrder.getCars().stream()
+                .filter(car -> !keptIds.contains(car.getId()))
+                .forEach(car -> car.setOrder(null));
+        claimCars(updatedOrder, cars);
+        dealerStatsService.orderedStockChanged(stockBefore, carRepository.summarizeStockByOrderIds(orderIds));
+        salesRollupService.salesChanged(salesBefore, salesRollupService.snapshot(orderIds));
+        orderRepository.flush();
+
+        OrderDto updated = orderMapper.toDto(updatedOrder);
+        eventPublisher.publish(OutboxEvent.Aggregate.ORDER, id, OutboxEvent.Type.UPDATED, updated);
+        return new Tagged<>(tagOf(updatedOrder), updated);
     }
 
     /**
@@ -144,10 +294,67 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.ORDER_NOT_FOUND + id));
 
-        disassociateCarsFromOrder(order);
+        List<Long> orderIds = List.of(id);
+        dealerStatsService.stockReleased(carRepository.summarizeStockByOrderIds(orderIds));
+        salesRollupService.ordersRemoved(orderIds);
+        order.getCars().forEach(car -> car.setOrder(null));
         disassociateUserFromOrder(order);
 
         orderRepository.delete(order);
+        eventPublisher.publish(OutboxEvent.Aggregate.ORDER, id, OutboxEvent.Type.DELETED, null);
+    }
+
+    private Tagged<CursorPage<OrderDto>> listOrders(Specification<Order> filter, String sort, String direction,
+                                                    String cursor, Integer limit, String fields, String expand,
+                                                    String ifNoneMatch) {
+        FieldSelection selection = FieldSelection.parse(fields, expand, OrderMapper.FIELDS, OrderMapper.EXPANSIONS);
+        CursorPage<Order> page = keysetPager.page(Order.class, filter, SORT_KEYS, sort, direction, cursor, limit);
+        Map<Long, CarRepository.VersionSummary> cars = summarizeCars(
+                page.getItems().stream().map(Order::getId).toList());
+        ETags.Builder tag = ETags.builder().add(page.getNextCursor());
+        for (Order order : page.getItems()) {
+            addToTag(tag, order, cars.get(order.getId()));
+        }
+        String etag = tag.build();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return Tagged.notModified(etag);
+        }
+        return new Tagged<>(etag, page.mapAll(orders -> orderMapper.toDtos(orders, selection, countCars(cars))));
+    }
+
+    /** The order representation lists its cars, so their versions are part of the tag. */
+    private String tagOf(Order order) {
+        return addToTag(ETags.builder(), order, summarizeCars(List.of(order.getId())).get(order.getId())).build();
+    }
+
+    private Map<Long, CarRepository.VersionSummary> summarizeCars(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        return carRepository.summarizeVersionsByOrderIds(orderIds).stream()
+                .collect(Collectors.toMap(CarRepository.VersionSummary::getOwnerId, Function.identity()));
+    }
+
+    private static Map<Long, Long> countCars(Map<Long, CarRepository.VersionSummary> cars) {
+        return cars.values().stream().collect(Collectors.toMap(
+                CarRepository.VersionSummary::getOwnerId, CarRepository.VersionSummary::getCarCount));
+    }
+
+    private static ETags.Builder addToTag(ETags.Builder tag, Order order, CarRepository.VersionSummary cars) {
+        tag.add(order.getId()).add(order.getVersion());
+        return cars == null
+                ? tag.add(0L)
+                : tag.add(cars.getCarCount()).add(cars.getVersionSum()).add(cars.getMaxCarId());
+    }
+
+    private static <T extends Comparable<T>> void validateRange(String field, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ValidationException(ErrorMessages.INVALID_RANGE + field);
+        }
+    }
+
+    private static Date startOfDay(LocalDate day) {
+        return day == null ? null : Date.from(day.atStartOfDay(SalesRollupService.ZONE).toInstant());
     }
 
     private void validateOrderDto(OrderDto orderDto) {
@@ -162,12 +369,22 @@ public class OrderService {
         }
     }
 
-    private List<Car> validateAndGetOrderCars(List<Long> carIds) {
-        List<Car> cars = new ArrayList<>();
-        for (Long carId : carIds) {
-            Car car = carRepository.findById(carId)
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.CAR_NOT_FOUND + carId));
-            cars.add(car);
+    /**
+     * Loads the distinct cars of an order. The pessimistic strategy locks them in ID order,
+     * so the order check reads their current state.
+     */
+    private List<Car> loadOrderCars(List<Long> carIds, ClaimStrategy strategy) {
+        if (carIds.contains(null)) {
+            throw new ValidationException(ErrorMessages.INVALID_CAR_ID + null);
+        }
+        List<Long> ids = carIds.stream().distinct().toList();
+        List<Car> cars = strategy == ClaimStrategy.PESSIMISTIC
+                ? carRepository.findAllByIdForUpdate(ids)
+                : carRepository.findAllById(ids);
+        if (cars.size() < ids.size()) {
+            Set<Long> found = cars.stream().map(Car::getId).collect(Collectors.toSet());
+            Long missing = ids.stream().filter(carId -> !found.contains(carId)).findFirst().orElseThrow();
+            throw new ResourceNotFoundException(ErrorMessages.CAR_NOT_FOUND + missing);
         }
         return cars;
     }
@@ -194,39 +411,17 @@ public class OrderService {
                 .sum();
     }
 
-    private void associateCarsWithOrder(List<Car> cars, Order order) {
-        for (Car car : cars) {
-            car.setOrder(order);
-            carRepository.save(car);
-            order.getCars().add(car);
-        }
-    }
-
-    private void updateCarAssociations(Order order, List<Car> newCars) {
-        // Remove order reference from old cars no longer in the order
-        for (Car oldCar : new ArrayList<>(order.getCars())) {
-            if (!newCars.contains(oldCar)) {
-                oldCar.setOrder(null);
-                carRepository.save(oldCar);
-                order.getCars().remove(oldCar);
-            }
-        }
-
-        // Add order reference to new cars
-        for (Car newCar : newCars) {
-            if (!order.getCars().contains(newCar)) {
-                newCar.setOrder(order);
-                carRepository.save(newCar);
-                order.getCars().add(newCar);
-            }
-        }
-    }
-
-    private void disassociateCarsFromOrder(Order order) {
-        for (Car car : new ArrayList<>(order.getCars())) {
-            car.setOrder(null);
-            carRepository.save(car);
-        }
+    /**
+     * Claims all cars for the order through the persistence context, so the second-level cache
+     * replaces just these cars instead of dropping the whole region as a bulk update would.
+     * Every car is updated with its version: with the pessimistic strategy the row locks keep
+     * the versions current, with the optimistic one a car claimed meanwhile fails the flush
+     * with an optimistic locking exception.
+     */
+    private void claimCars(Order order, List<Car> cars) {
+        cars.forEach(car -> car.setOrder(order));
+        carRepository.saveAllAndFlush(cars);
+        order.setCars(new ArrayList<>(cars));
     }
 
     private void disassociateUserFromOrder(Order order) {
@@ -0,0 +1,81 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.model.OutboxEvent;
+import com.example.cardealer.repository.OutboxEventRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job that delivers the outbox to the {@link DomainEventListener} beans.
+ * The oldest committed events are read in batches and handed to every listener in delivery
+ * order, which is commit order; a batch is deleted only after all listeners took it. When a
+ * listener fails, the batch stays and the next run delivers it again, so later events never
+ * overtake an undelivered one. Every batch is a transaction holding an advisory lock and the
+ * rows, so of several instances only one delivers at a time.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectProvider<DomainEventListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructor for OutboxDispatcher.
+     *
+     * @param outboxRepository the outbox repository
+     * @param listeners           the registered listeners
+     * @param transactionTemplate the transaction template
+     * @param batchSize           maximum events per delivery, {@code outbox.batch-size}
+     */
+    public OutboxDispatcher(OutboxEventRepository outboxRepository,
+                            ObjectProvider<DomainEventListener> listeners,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${outbox.batch-size:200}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Delivers all pending events, every second unless {@code outbox.dispatch-delay} says otherwise.
+     */
+    @Scheduled(fixedDelayString = "${outbox.dispatch-delay:PT1S}")
+    public void dispatch() {
+        boolean fullBatch = true;
+        while (fullBatch) {
+            fullBatch = Boolean.TRUE.equals(transactionTemplate.execute(status -> deliverBatch()));
+        }
+    }
+
+    /** Delivers and deletes one batch; returns whether a full batch was delivered. */
+    private boolean deliverBatch() {
+        if (!outboxRepository.tryLock(OutboxEventRepository.DISPATCH_LOCK)) {
+            return false; // another instance is dispatching
+        }
+        List<OutboxEvent> batch = outboxRepository.lockOldest(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            for (DomainEventListener listener : listeners.orderedStream().toList()) {
+                listener.onEvents(batch);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Delivery of outbox events from ID {} failed, retrying later", batch.get(0).getId(), e);
+            return false;
+        }
+        outboxRepository.deleteAllInBatch(batch);
+        return batch.size() == batchSize;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.exception.InternalServerException;
+import com.example.cardealer.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local stand-in for an external event sink: appends every delivered event as one JSON line
+ * to the file named by {@code outbox.file-sink.path}. Enabled only when the property is set.
+ * Redelivered batches are appended again, so readers deduplicate by event ID.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.file-sink.path")
+public class OutboxFileSink implements DomainEventListener {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for OutboxFileSink.
+     *
+     * @param path         file the events are appended to
+     * @param objectMapper the JSON mapper
+     */
+    public OutboxFileSink(@Value("${outbox.file-sink.path}") String path, ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void onEvents(List<OutboxEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(toJson(event)));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new InternalServerException(e.getMessage());
+        }
+    }
+
+    private ObjectNode toJson(OutboxEvent event) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("id", event.getId())
+                .put("aggregate", event.getAggregate().name())
+                .put("aggregateId", event.getAggregateId())
+                .put("type", event.getType().name())
+                .put("createdAt", event.getCreatedAt().getTime());
+        node.set("payload", event.getPayload() == null ? null : objectMapper.readTree(event.getPayload()));
+        return node;
+    }
+}
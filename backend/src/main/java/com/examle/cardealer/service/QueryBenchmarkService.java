@@ -0,0 +1,132 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.QueryBenchmarkDto;
+import com.example.cardealer.dto.QueryBenchmarkReportDto;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.Car;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.DealerBrandQueries;
+import com.example.cardealer.repository.DealerRepository;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * Repeatable comparison of the dealer-by-brand query variants on the current database.
+ * Variants run interleaved after a warm-up, so drift affects all of them alike. The first
+ * run for a brand becomes its baseline, and later runs flag every variant whose 90th
+ * percentile grew by more than the tolerance.
+ */
+@Service
+@Transactional
+public class QueryBenchmarkService {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final DealerBrandQueries dealerBrandQueries;
+    private final DealerRepository dealerRepository;
+    private final CarRepository carRepository;
+
+    private final Map<String, Map<DealerBrandQueries.Variant, Double>> baselines = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for QueryBenchmarkService.
+     *
+     * @param dealerBrandQueries the benchmarked query variants
+     * @param dealerRepository   the dealer repository
+     * @param carRepository      the car repository
+     */
+    public QueryBenchmarkService(DealerBrandQueries dealerBrandQueries,
+                                 DealerRepository dealerRepository,
+                                 CarRepository carRepository) {
+        this.dealerBrandQueries = dealerBrandQueries;
+        this.dealerRepository = dealerRepository;
+        this.carRepository = carRepository;
+    }
+
+    /**
+     * Measures all dealer-by-brand variants for one brand.
+     *
+     * @param brand         brand to look up
+     * @param iterations    measured runs per variant
+     * @param warmup        unmeasured runs per variant
+     * @param tolerance     allowed relative growth of the 90th percentile, e.g. 0.2
+     * @param resetBaseline whether this run replaces the stored baseline
+     * @return latencies, plans and regressions per variant
+     */
+    public QueryBenchmarkReportDto benchmarkDealersByBrand(String brand, int iterations, int warmup,
+                                                           double tolerance, boolean resetBaseline) {
+        if (brand == null || brand.length() < 2 || brand.length() > 50) {
+            throw new ValidationException(ErrorMessages.INVALID_BRAND);
+        }
+
+        DealerBrandQueries.Variant[] variants = DealerBrandQueries.Variant.values();
+        for (int i = 0; i < warmup; i++) {
+            for (DealerBrandQueries.Variant variant : variants) {
+                dealerBrandQueries.find(variant, brand);
+            }
+        }
+
+        Map<DealerBrandQueries.Variant, long[]> timings = new EnumMap<>(DealerBrandQueries.Variant.class);
+        Map<DealerBrandQueries.Variant, Integer> rows = new EnumMap<>(DealerBrandQueries.Variant.class);
+        for (DealerBrandQueries.Variant variant : variants) {
+            timings.put(variant, new long[iterations]);
+        }
+        for (int i = 0; i < iterations; i++) {
+            for (DealerBrandQueries.Variant variant : variants) {
+                long start = System.nanoTime();
+                int found = dealerBrandQueries.find(variant, brand).size();
+                timings.get(variant)[i] = System.nanoTime() - start;
+                rows.put(variant, found);
+            }
+        }
+
+        String baselineKey = Car.normalizeBrand(brand);
+        Map<DealerBrandQueries.Variant, Double> baseline = resetBaseline ? null : baselines.get(baselineKey);
+        Map<DealerBrandQueries.Variant, Double> current = new EnumMap<>(DealerBrandQueries.Variant.class);
+        List<QueryBenchmarkDto> results = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        for (DealerBrandQueries.Variant variant : variants) {
+            long[] sorted = timings.get(variant).clone();
+            Arrays.sort(sorted);
+            double p90 = percentile(sorted, 90);
+            current.put(variant, p90);
+
+            Double baselineP90 = baseline == null ? null : baseline.get(variant);
+            boolean regression = baselineP90 != null && p90 > baselineP90 * (1 + tolerance);
+            if (regression) {
+                regressions.add(variant.name());
+            }
+            results.add(new QueryBenchmarkDto(variant.name(), variant.getSql(), rows.getOrDefault(variant, 0),
+                    percentile(sorted, 50), p90, percentile(sorted, 99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / NANOS_PER_MILLI,
+                    baselineP90, regression, dealerBrandQueries.explain(variant, brand)));
+        }
+        if (baseline == null) {
+            baselines.put(baselineKey, current);
+        }
+
+        String fastest = results.stream()
+                .min(Comparator.comparingDouble(QueryBenchmarkDto::getP90Ms))
+                .map(QueryBenchmarkDto::getVariant)
+                .orElse(null);
+        return new QueryBenchmarkReportDto(brand, dealerRepository.count(), carRepository.count(),
+                iterations, warmup, tolerance, fastest, regressions, results);
+    }
+
+    /** Nearest-rank percentile of sorted nanosecond timings, in milliseconds. */
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / NANOS_PER_MILLI;
+    }
+}
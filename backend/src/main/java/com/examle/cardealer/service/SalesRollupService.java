@@ -0,0 +1,303 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.SalesReportDto;
+import com.example.cardealer.dto.SalesRollupDto;
+import com.example.cardealer.exception.ResourceNotFoundException;
+import com.example.cardealer.exception.ValidationException;
+import com.example.cardealer.model.SalesRollup;
+import com.example.cardealer.model.SalesRollupBackfill;
+import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.DealerRepository;
+import com.example.cardealer.repository.OrderRepository;
+import com.example.cardealer.repository.SalesRollupBackfillRepository;
+import com.example.cardealer.repository.SalesRollupRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sales per day, dealer and brand, maintained incrementally.
+ * Every write that creates, changes or deletes orders summarizes the affected orders before
+ * and after the change and adds the difference to the {@code sales_rollup} rows in its own
+ * transaction, so a report reads one row per day, dealer and brand of its range no matter
+ * how many orders exist. Revenue is the total price an order was placed for, split over its
+ * dealer and brand lines by their share of the order's cars; repricing a car later does not
+ * change past sales. The rows always equal the totals of the current orders.
+ * While the backfill runs, changes of orders it has not reached yet are left to it.
+ */
+@Service
+@Transactional
+public class SalesRollupService {
+
+    /** Time zone the dealership dates its orders in. */
+    public static final ZoneId ZONE = ZoneId.of("Europe/Moscow");
+
+    static final int MAX_REPORT_DAYS = 366;
+
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private final SalesRollupRepository rollupRepository;
+    private final SalesRollupBackfillRepository backfillRepository;
+    private final CarRepository carRepository;
+    private final OrderRepository orderRepository;
+    private final DealerRepository dealerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Set once this instance has seen the backfill completed. */
+    private volatile boolean backfilled;
+
+    /**
+     * Constructor for SalesRollupService.
+     *
+     * @param rollupRepository    the sales rollup repository
+     * @param backfillRepository  the backfill progress repository
+     * @param carRepository       the car repository
+     * @param orderRepository     the order repository
+     * @param dealerRepository    the dealer repository
+     * @param transactionTemplate the transaction template
+     */
+    public SalesRollupService(SalesRollupRepository rollupRepository,
+                              SalesRollupBackfillRepository backfillRepository,
+                              CarRepository carRepository,
+                              OrderRepository orderRepository,
+                              DealerRepository dealerRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.rollupRepository = rollupRepository;
+        this.backfillRepository = backfillRepository;
+        this.carRepository = carRepository;
+        this.orderRepository = orderRepository;
+        this.dealerRepository = dealerRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Fills the rollups from the orders stored before the table existed.
+     * The first run records the highest order ID as the end of the backfill; later orders are
+     * left to the incremental updates. Every chunk commits on its own together with its progress,
+     * so a restarted application resumes after the last counted order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void backfill() {
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> backfillChunk()));
+        }
+    }
+
+    /**
+     * Returns the sales of a date range.
+     *
+     * @param from     first day, inclusive
+     * @param to       last day, inclusive
+     * @param dealerId dealer to limit the report to (optional)
+     * @return totals and sales per day, dealer and brand
+     * @throws ValidationException       if the range is missing, reversed or too long
+     * @throws ResourceNotFoundException if the dealer is not found
+     */
+    public SalesReportDto getSalesReport(LocalDate from, LocalDate to, Long dealerId) {
+        if (from == null || to == null) {
+            throw new ValidationException(ErrorMessages.SALES_REPORT_NO_RANGE);
+        }
+        if (from.isAfter(to)) {
+            throw new ValidationException(ErrorMessages.INVALID_RANGE + "date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new ValidationException(String.format(ErrorMessages.SALES_REPORT_RANGE_TOO_LONG, MAX_REPORT_DAYS));
+        }
+        if (dealerId != null) {
+            if (dealerId < 1) {
+                throw new ValidationException(ErrorMessages.INVALID_DEALER_ID);
+            }
+            if (!dealerRepository.existsById(dealerId)) {
+                throw new ResourceNotFoundException(ErrorMessages.DEALER_NOT_FOUND + dealerId);
+            }
+        }
+
+        List<SalesRollup> rollups = dealerId == null
+                ? rollupRepository.findSales(from, to)
+                : rollupRepository.findSalesByDealerId(from, to, dealerId);
+        long carsSold = 0;
+        double revenue = 0;
+        for (SalesRollup rollup : rollups) {
+            carsSold += rollup.getCarsSold();
+            revenue += rollup.getRevenue();
+        }
+        List<SalesRollupDto> rows = rollups.stream()
+                .map(rollup -> new SalesRollupDto(rollup.getSaleDate(), rollup.getDealerId(), rollup.getBrand(),
+                        rollup.getOrderCount(), rollup.getCarsSold(), rollup.getRevenue()))
+                .toList();
+        return new SalesReportDto(from, to, dealerId, carsSold, revenue, rows);
+    }
+
+    /**
+     * Summarizes the sales of orders, to be passed to {@link #salesChanged} after changing them.
+     * Take it before the orders or their cars are touched: queries flush pending changes.
+     *
+     * @param orderIds the order IDs
+     * @return one line per order, dealer and brand
+     */
+    public List<CarRepository.SaleLine> snapshot(Collection<Long> orderIds) {
+        return orderIds.isEmpty() ? List.of() : carRepository.summarizeSalesByOrderIds(orderIds);
+    }
+
+    /**
+     * Counts new orders.
+     *
+     * @param orderIds IDs of the orders, with their cars claimed
+     */
+    public void ordersPlaced(Collection<Long> orderIds) {
+        salesChanged(List.of(), snapshot(orderIds));
+    }
+
+    /**
+     * Uncounts orders that are about to be deleted.
+     *
+     * @param orderIds IDs of the orders, with their cars not yet released
+     */
+    public void ordersRemoved(Collection<Long> orderIds) {
+        salesChanged(snapshot(orderIds), List.of());
+    }
+
+    /**
+     * Uncounts the orders of a user that are about to be deleted.
+     *
+     * @param userId the user ID
+     */
+    public void ordersOfUserRemoved(Long userId) {
+        salesChanged(carRepository.summarizeSalesByOrderUserId(userId), List.of());
+    }
+
+    /**
+     * Replaces the sales of changed orders.
+     *
+     * @param before summary of the orders taken with {@link #snapshot} before the change
+     * @param after  summary of the same orders taken after the change
+     */
+    public void salesChanged(List<CarRepository.SaleLine> before, List<CarRepository.SaleLine> after) {
+        LongPredicate pending = pendingBackfill();
+        addDeltas(before.stream().filter(line -> !pending.test(line.getOrderId())).toList(),
+                after.stream().filter(line -> !pending.test(line.getOrderId())).toList());
+    }
+
+    /**
+     * Counts the next chunk of orders up to the end of the backfill, starting it on first call.
+     * Runs under the exclusive backfill lock, so no incremental change overlaps it.
+     *
+     * @return whether orders may remain
+     */
+    private boolean backfillChunk() {
+        backfillRepository.lock(SalesRollupBackfillRepository.LOCK_KEY);
+        SalesRollupBackfill progress = backfillRepository.findById(SalesRollupBackfill.ID)
+                .orElseGet(this::startBackfill);
+        if (progress.isDone()) {
+            backfilled = true;
+            return false;
+        }
+        List<Long> orderIds = orderRepository.findIdsBetween(progress.getLastId(), progress.getUpToId(),
+                PageRequest.of(0, BACKFILL_CHUNK));
+        addDeltas(List.of(), snapshot(orderIds));
+        progress.setLastId(orderIds.size() < BACKFILL_CHUNK
+                ? progress.getUpToId()
+                : orderIds.get(orderIds.size() - 1));
+        return true;
+    }
+
+    private SalesRollupBackfill startBackfill() {
+        carRepository.fillMissingBrandKeys();
+        long upToId = orderRepository.findMaxId();
+        // Incremental changes skip every order until this row exists, so existing rollups
+        // can only come from a backfill that finished before progress was recorded
+        long lastId = rollupRepository.count() > 0 ? upToId : 0;
+        return backfillRepository.save(new SalesRollupBackfill(SalesRollupBackfill.ID, upToId, lastId));
+    }
+
+    /**
+     * Returns which orders the backfill still has to count, holding the backfill lock shared
+     * until the transaction ends. Before the backfill starts that is every order: it will count
+     * all orders committed by then.
+     */
+    private LongPredicate pendingBackfill() {
+        if (backfilled) {
+            return orderId -> false;
+        }
+        backfillRepository.lockShared(SalesRollupBackfillRepository.LOCK_KEY);
+        SalesRollupBackfill progress = backfillRepository.findById(SalesRollupBackfill.ID).orElse(null);
+        if (progress == null) {
+            return orderId -> true;
+        }
+        if (progress.isDone()) {
+            backfilled = true;
+        }
+        return progress::isPending;
+    }
+
+    private void addDeltas(List<CarRepository.SaleLine> before, List<CarRepository.SaleLine> after) {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        addAll(rows, before, -1);
+        addAll(rows, after, 1);
+        for (Row row : rows.values()) {
+            if (!row.isEmpty()) {
+                rollupRepository.addDelta(row.saleDate, row.dealerId, row.brandKey, row.brand,
+                        row.orderCount, row.carsSold, row.revenue);
+            }
+        }
+    }
+
+    /** Adds the lines of whole orders, each line getting its share of the order's total price. */
+    private static void addAll(Map<String, Row> rows, List<CarRepository.SaleLine> lines, int sign) {
+        Map<Long, Long> orderCarCounts = new HashMap<>();
+        lines.forEach(line -> orderCarCounts.merge(line.getOrderId(), line.getCarCount(), Long::sum));
+        for (CarRepository.SaleLine line : lines) {
+            double revenue = line.getOrderTotal() * line.getCarCount() / orderCarCounts.get(line.getOrderId());
+            add(rows, line, sign, revenue);
+        }
+    }
+
+    private static void add(Map<String, Row> rows, CarRepository.SaleLine line, int sign, double revenue) {
+        if (line.getBrandKey() == null) {
+            return; // filled on startup by DealerBrandCache
+        }
+        LocalDate saleDate = line.getOrderDate().toInstant().atZone(ZONE).toLocalDate();
+        Row row = rows.computeIfAbsent(saleDate + "\u0000" + line.getDealerId() + "\u0000" + line.getBrandKey(),
+                key -> new Row(saleDate, line.getDealerId(), line.getBrandKey(), line.getBrand().trim()));
+        row.orderCount += sign;
+        row.carsSold += sign * line.getCarCount();
+        row.revenue += sign * revenue;
+    }
+
+    /** Pending change of one rollup row. */
+    private static final class Row {
+        private final LocalDate saleDate;
+        private final Long dealerId;
+        private final String brandKey;
+        private final String brand;
+        private long orderCount;
+        private long carsSold;
+        private double revenue;
+
+        private Row(LocalDate saleDate, Long dealerId, String brandKey, String brand) {
+            this.saleDate = saleDate;
+            this.dealerId = dealerId;
+            this.brandKey = brandKey;
+            this.brand = brand;
+        }
+
+        private boolean isEmpty() {
+            return orderCount == 0 && carsSold == 0 && revenue == 0;
+        }
+    }
+}
@@ -1,20 +1,26 @@
 package com.example.cardealer.service;
 
 import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.CursorPage;
 import com.example.cardealer.dto.UserDto;
 import com.example.cardealer.exception.ConflictException;
 import com.example.cardealer.exception.ResourceNotFoundException;
 import com.example.cardealer.exception.ValidationException;
 import com.example.cardealer.mapper.UserMapper;
 import com.example.cardealer.model.Car;
-import com.example.cardealer.model.Order;
+import com.example.cardealer.model.OutboxEvent;
 import com.example.cardealer.model.User;
 import com.example.cardealer.repository.CarRepository;
+import com.example.cardealer.repository.KeysetPager;
 import com.example.cardealer.repository.OrderRepository;
 import com.example.cardealer.repository.UserRepository;
+import com.example.cardealer.util.FieldSelection;
 import jakarta.transaction.Transactional;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,10 +30,17 @@ import org.springframework.stereotype.Service;
 @Transactional
 public class UserService {
 
+    private static final Map<String, Function<User, Object>> SORT_KEYS = Map.of(
+            "id", User::getId);
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final CarRepository carRepository;
     private final OrderRepository orderRepository;
+    private final KeysetPager keysetPager;
+    private final DealerStatsService dealerStatsService;
+    private final SalesRollupService salesRollupService;
+    private final DomainEventPublisher eventPublisher;
 
     /**
      * Constructor for UserService.
@@ -35,43 +48,66 @@ public class UserService {
      * @param userRepository the user repository
      * @param userMapper     the user mapper
      * @param carRepository  the car repository
+     * @param orderRepository the order repository
+     * @param keysetPager    the keyset pager
+     * @param dealerStatsService the dealer statistics service
+     * @param salesRollupService the sales rollup service
+     * @param eventPublisher the domain event publisher
      */
     public UserService(UserRepository userRepository,
                        UserMapper userMapper,
                        CarRepository carRepository,
-                       OrderRepository orderRepository) {
+                       OrderRepository orderRepository,
+                       KeysetPager keysetPager,
+                       DealerStatsService dealerStatsService,
+                       SalesRollupService salesRollupService,
+                       DomainEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.carRepository = carRepository;
         this.orderRepository = orderRepository;
+        this.keysetPager = keysetPager;
+        this.dealerStatsService = dealerStatsService;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves one page of users using keyset pagination.
      *
-     * @return a list of all users
+     * @param sort      sort key: id
+     * @param direction sort direction: asc or desc
+     * @param cursor    cursor returned with the previous page (optional)
+     * @param limit     page size (optional)
+     * @param fields    comma-separated fields to return (optional, all by default)
+     * @param expand    nested collections to return: favoriteCars, orders (optional)
+     * @return page of users
      */
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toDto)
-                .toList();
+    public CursorPage<UserDto> getAllUsers(String sort, String direction, String cursor, Integer limit,
+                                           String fields, String expand) {
+        FieldSelection selection = FieldSelection.parse(fields, expand, UserMapper.FIELDS, UserMapper.EXPANSIONS);
+        return keysetPager.page(User.class, SORT_KEYS, sort, direction, cursor, limit)
+                .mapAll(users -> userMapper.toDtos(users, selection));
     }
 
     /**
      * Retrieves a user by their ID.
      *
-     * @param id the user ID
+     * @param id     the user ID
+     * @param fields comma-separated fields to return (optional, all by default)
+     * @param expand nested collections to return: favoriteCars, orders (optional)
      * @return the user DTO
      * @throws ResourceNotFoundException if the user is not found
      */
-    public UserDto getUserById(Long id) {
+    public UserDto getUserById(Long id, String fields, String expand) {
         if (id == null || id < 1) {
             throw new ValidationException(ErrorMessages.INVALID_USER_ID);
         }
+        FieldSelection selection = FieldSelection.parse(fields, expand, UserMapper.FIELDS, UserMapper.EXPANSIONS);
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND + id));
-        return userMapper.toDto(user);
+        return userMapper.toDtos(List.of(user), selection).get(0);
     }
 
     /**
@@ -89,7 +125,9 @@ public class UserService {
 
         User user = userMapper.toEntity(userDto);
         User savedUser = userRepository.save(user);
-        return userMapper.toDto(savedUser);
+        UserDto created = userMapper.toDto(savedUser);
+        eventPublisher.publish(OutboxEvent.Aggregate.USER, savedUser.getId(), OutboxEvent.Type.CREATED, created);
+        return created;
     }
 
     /**
@@ -116,9 +154,27 @@ public class UserService {
             existingUser.setUsername(userDto.getUsername());
         }
 
+        // Favorites are owned by the user, so cars whose favorites change get a new version explicitly.
+        List<Long> oldFavoriteIds = existingUser.getFavoriteCars().stream().map(Car::getId).toList();
         userMapper.updateEntity(userDto, existingUser);
+        Set<Long> changedFavoriteIds = new HashSet<>(oldFavoriteIds);
+        for (Car car : existingUser.getFavoriteCars()) {
+            if (!changedFavoriteIds.remove(car.getId())) {
+                changedFavoriteIds.add(car.getId());
+            }
+        }
         User updatedUser = userRepository.save(existingUser);
-        return userMapper.toDto(updatedUser);
+        if (!changedFavoriteIds.isEmpty()) {
+            carRepository.findAllByIdForVersionIncrement(changedFavoriteIds);
+        }
+        UserDto updated = userMapper.toDto(updatedUser);
+        eventPublisher.publish(OutboxEvent.Aggregate.USER, id, OutboxEvent.Type.UPDATED, updated);
+        for (Long carId : changedFavoriteIds) {
+            eventPublisher.publishFavorite(id, carId, oldFavoriteIds.contains(carId)
+                    ? OutboxEvent.Type.DELETED
+                    : OutboxEvent.Type.CREATED);
+        }
+        return updated;
     }
 
     /**
@@ -132,17 +188,23 @@ public class UserService {
             throw new ValidationException(ErrorMessages.INVALID_USER_ID);
         }
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND + id));
-
-        removeFavoriteCarsAssociations(user);
-        deleteUserOrders(user);
-
-        // Явная очистка коллекций
-        user.getFavoriteCars().clear();
-        user.getOrders().clear();
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException(ErrorMessages.USER_NOT_FOUND + id);
+        }
 
-        userRepository.delete(user);
+        List<Long> favoriteIds = carRepository.findFavoriteIdsByUserId(id);
+        if (!favoriteIds.isEmpty()) {
+            carRepository.incrementVersions(favoriteIds);
+        }
+        userRepository.deleteFavoritesByUserId(id);
+        dealerStatsService.stockReleased(carRepository.summarizeStockByOrderUserId(id));
+        salesRollupService.ordersOfUserRemoved(id);
+        eventPublisher.publishAll(OutboxEvent.Aggregate.ORDER, orderRepository.findIdsByUserId(id),
+                OutboxEvent.Type.DELETED);
+        carRepository.clearOrderByUserId(id);
+        orderRepository.deleteAllByUserId(id);
+        userRepository.deleteInBulkById(id);
+        eventPublisher.publish(OutboxEvent.Aggregate.USER, id, OutboxEvent.Type.DELETED, null);
     }
 
     /**
@@ -171,6 +233,7 @@ public class UserService {
 
         userRepository.save(user);
         carRepository.save(car);
+        eventPublisher.publishFavorite(userId, carId, OutboxEvent.Type.CREATED);
     }
 
     /**
@@ -198,6 +261,7 @@ public class UserService {
 
         userRepository.save(user);
         carRepository.save(car);
+        eventPublisher.publishFavorite(userId, carId, OutboxEvent.Type.DELETED);
     }
 
     public void validateUserDto(UserDto userDto) {
@@ -217,26 +281,4 @@ public class UserService {
             throw new ValidationException(ErrorMessages.INVALID_CAR_ID);
         }
     }
-
-    private void removeFavoriteCarsAssociations(User user) {
-        List<Car> cars = new ArrayList<>(user.getFavoriteCars());
-        for (Car car : cars) {
-            car.getUsersWhoFavorited().remove(user);
-            carRepository.save(car);
-            // Удаление из коллекции пользователя
-            user.getFavoriteCars().remove(car);
-        }
-    }
-
-    private void deleteUserOrders(User user) {
-        for (Order order : new ArrayList<>(user.getOrders())) {
-            for (Car car : new ArrayList<>(order.getCars())) {
-                if (car != null) { // Проверка на null
-                    car.setOrder(null);
-                    carRepository.save(car);
-                }
-            }
-            orderRepository.delete(order);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package com.example.cardealer.service;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.dto.VinDecodeDto;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * VIN checks backed by lookup tables instead of regular expressions.
+ * Character validation and check-digit computation walk the VIN once without allocating.
+ */
+@Component
+public class VinValidator {
+
+    public static final int VIN_LENGTH = 17;
+
+    private static final int CHECK_DIGIT_POSITION = 8;
+
+    /** ISO 3779 transliteration values; -1 marks characters that are not allowed in a VIN. */
+    private static final int[] VALUES = new int[128];
+
+    /** ISO 3779 position weights. */
+    private static final int[] WEIGHTS = {8, 7, 6, 5, 4, 3, 2, 10, 0, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    /** World manufacturer identifiers (first three VIN characters) mapped to brands. */
+    private static final Map<String, String> WMI = new HashMap<>();
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (char c = '0'; c <= '9'; c++) {
+            VALUES[c] = c - '0';
+        }
+        String letters = "ABCDEFGHJKLMNPRSTUVWXYZ";
+        int[] letterValues = {1, 2, 3, 4, 5, 6, 7, 8, 1, 2, 3, 4, 5, 7, 9, 2, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 0; i < letters.length(); i++) {
+            VALUES[letters.charAt(i)] = letterValues[i];
+        }
+
+        registerWmi("Acura", "19U", "JH4");
+        registerWmi("Alfa Romeo", "ZAR");
+        registerWmi("Audi", "WAU", "WA1", "TRU");
+        registerWmi("BMW", "WBA", "WBS", "WBY", "5UX", "4US");
+        registerWmi("Chevrolet", "1G1", "1GC", "2G1", "3G1", "KL1");
+        registerWmi("Ferrari", "ZFF");
+        registerWmi("Fiat", "ZFA");
+        registerWmi("Ford", "1FA", "1FM", "1FT", "2FA", "3FA", "WF0");
+        registerWmi("Honda", "1HG", "2HG", "JHM", "SHH");
+        registerWmi("Hyundai", "KMH", "5NP");
+        registerWmi("Kia", "KNA", "KND", "5XY");
+        registerWmi("Lada", "XTA");
+        registerWmi("Land Rover", "SAL");
+        registerWmi("Lexus", "JTH", "2T2");
+        registerWmi("Mazda", "JM1", "JM3");
+        registerWmi("Mercedes-Benz", "WDB", "WDD", "WDC", "4JG", "W1K");
+        registerWmi("Mitsubishi", "JA3", "JA4");
+        registerWmi("Nissan", "JN1", "JN8", "1N4", "1N6", "3N1");
+        registerWmi("Peugeot", "VF3");
+        registerWmi("Porsche", "WP0", "WP1");
+        registerWmi("Renault", "VF1");
+        registerWmi("Skoda", "TMB");
+        registerWmi("Subaru", "JF1", "JF2", "4S3", "4S4");
+        registerWmi("Tesla", "5YJ", "7SA");
+        registerWmi("Toyota", "JTD", "JTE", "JTM", "JTN", "4T1", "4T3", "2T1", "5TD", "5TF");
+        registerWmi("Volkswagen", "WVW", "WVG", "3VW", "1VW");
+        registerWmi("Volvo", "YV1", "YV4");
+    }
+
+    private static void registerWmi(String brand, String... prefixes) {
+        for (String prefix : prefixes) {
+            WMI.put(prefix, brand);
+        }
+    }
+
+    /**
+     * Checks length and characters of a VIN (digits and letters except I, O and Q).
+     *
+     * @param vin the VIN
+     * @return {@code null} when the VIN is well formed, otherwise the error message
+     */
+    public String checkFormat(CharSequence vin) {
+        if (isBlank(vin)) {
+            return ErrorMessages.VIN_EMPTY;
+        }
+        if (vin.length() != VIN_LENGTH) {
+            return ErrorMessages.INVALID_VIN_LENGTH;
+        }
+        for (int i = 0; i < VIN_LENGTH; i++) {
+            if (value(vin.charAt(i)) < 0) {
+                return ErrorMessages.INVALID_VIN_FORMAT;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifies the ISO 3779 check digit in position 9 of a well-formed VIN.
+     *
+     * @param vin the VIN
+     * @return whether the check digit matches
+     */
+    public boolean hasValidCheckDigit(CharSequence vin) {
+        if (checkFormat(vin) != null) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < VIN_LENGTH; i++) {
+            sum += value(vin.charAt(i)) * WEIGHTS[i];
+        }
+        int remainder = sum % 11;
+        char expected = remainder == 10 ? 'X' : (char) ('0' + remainder);
+        return vin.charAt(CHECK_DIGIT_POSITION) == expected;
+    }
+
+    /**
+     * Looks up the manufacturer brand by the world manufacturer identifier.
+     *
+     * @param vin the VIN
+     * @return the brand, or {@code null} if the WMI is unknown
+     */
+    public String decodeManufacturer(CharSequence vin) {
+        if (vin == null || vin.length() < 3) {
+            return null;
+        }
+        return WMI.get(vin.subSequence(0, 3).toString());
+    }
+
+    /**
+     * Cross-checks a submitted brand with the VIN manufacturer.
+     *
+     * @param vin the VIN
+     * @param brand the submitted brand
+     * @return {@code false} only when the WMI is known and names another brand
+     */
+    public boolean brandMatches(CharSequence vin, String brand) {
+        String manufacturer = decodeManufacturer(vin);
+        return manufacturer == null || brand == null
+                || manufacturer.toLowerCase(Locale.ROOT).equals(brand.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Decodes everything known about a VIN.
+     *
+     * @param vin the VIN
+     * @param brand optional submitted brand to cross-check
+     * @return decoding result
+     */
+    public VinDecodeDto decode(String vin, String brand) {
+        String formatError = checkFormat(vin);
+        return new VinDecodeDto(vin,
+                formatError == null,
+                formatError,
+                hasValidCheckDigit(vin),
+                decodeManufacturer(vin),
+                brand == null ? null : brandMatches(vin, brand));
+    }
+
+    private static int value(char c) {
+        return c < VALUES.length ? VALUES[c] : -1;
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
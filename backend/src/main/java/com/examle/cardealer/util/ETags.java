@@ -0,0 +1,103 @@
+package com.example.cardealer.util;
+
+/**
+ * Class to build and compare weak entity tags.
+ * Tags are hashes of entity IDs and {@code @Version} values, so they are computed
+ * without mapping or serializing the response.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {} // No instances
+
+    /**
+     * Starts a new tag.
+     *
+     * @return empty tag builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks an {@code If-None-Match} or {@code If-Match} header against a tag.
+     * Tags are compared by their opaque value, ignoring the weak prefix.
+     *
+     * @param header header value, may list several tags or be {@code *}
+     * @param etag   current tag
+     * @return whether the header names the current tag
+     */
+    public static boolean matches(String header, String etag) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || opaque(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /** Accumulates tag components with a 64-bit FNV-1a hash. */
+    public static final class Builder {
+        private long hash = FNV_OFFSET;
+
+        private Builder() {}
+
+        /**
+         * Adds a number to the tag.
+         *
+         * @param value the number
+         * @return this builder
+         */
+        public Builder add(long value) {
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash ^= (value >>> (i * 8)) & 0xff;
+                hash *= FNV_PRIME;
+            }
+            return this;
+        }
+
+        /**
+         * Adds an optional number to the tag.
+         *
+         * @param value the number, {@code null} counts as -1
+         * @return this builder
+         */
+        public Builder add(Long value) {
+            return add(value == null ? -1L : value.longValue());
+        }
+
+        /**
+         * Adds an optional string to the tag.
+         *
+         * @param value the string, {@code null} counts as empty
+         * @return this builder
+         */
+        public Builder add(String value) {
+            String text = value == null ? "" : value;
+            for (int i = 0; i < text.length(); i++) {
+                add((long) text.charAt(i));
+            }
+            return add((long) text.length());
+        }
+
+        /**
+         * Finishes the tag.
+         *
+         * @return weak tag in header format
+         */
+        public String build() {
+            return "W/\"" + Long.toHexString(hash) + "\"";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.cardealer.util;
+
+import com.example.cardealer.constants.ErrorMessages;
+import com.example.cardealer.exception.ValidationException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields and nested collections requested with the {@code fields} and {@code expand} query parameters.
+ * Unselected fields stay {@code null} in the DTO and are not serialized, and nested collections
+ * are only loaded when expanded.
+ */
+public final class FieldSelection {
+
+    private final Set<String> fields;
+    private final Set<String> expansions;
+
+    private FieldSelection(Set<String> fields, Set<String> expansions) {
+        this.fields = fields;
+        this.expansions = expansions;
+    }
+
+    /**
+     * Parses the query parameters against the names a resource supports.
+     *
+     * @param fields            comma-separated fields, {@code null} or blank for all of them
+     * @param expand            comma-separated nested collections, {@code null} or blank for none
+     * @param allowedFields     fields of the resource
+     * @param allowedExpansions nested collections of the resource
+     * @return the selection
+     * @throws ValidationException if a name is not supported
+     */
+    public static FieldSelection parse(String fields, String expand,
+                                       Set<String> allowedFields, Set<String> allowedExpansions) {
+        Set<String> selectedFields = split(fields);
+        for (String field : selectedFields) {
+            if (!allowedFields.contains(field)) {
+                throw new ValidationException(ErrorMessages.INVALID_FIELD + field);
+            }
+        }
+        Set<String> selectedExpansions = split(expand);
+        for (String expansion : selectedExpansions) {
+            if (!allowedExpansions.contains(expansion)) {
+                throw new ValidationException(ErrorMessages.INVALID_EXPANSION + expansion);
+            }
+        }
+        return new FieldSelection(selectedFields.isEmpty() ? allowedFields : selectedFields, selectedExpansions);
+    }
+
+    /**
+     * Checks whether a field is selected.
+     *
+     * @param field field name
+     * @return whether the field is returned
+     */
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Checks whether a nested collection is expanded.
+     *
+     * @param expansion collection name
+     * @return whether the collection is loaded and returned
+     */
+    public boolean expands(String expansion) {
+        return expansions.contains(expansion);
+    }
+
+    private static Set<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.cardealer.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Class to defer in-memory side effects until the database changes are committed. */
+public final class TransactionHooks {
+
+    private TransactionHooks() {} // No instances
+
+    /**
+     * Runs the action after the current transaction commits, or right away without one.
+     * Rolled back transactions never run the action.
+     *
+     * @param action action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
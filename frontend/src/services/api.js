@@ -7,18 +7,33 @@ const apiClient = axios.create({
     },
 });
 
+const PAGE_SIZE = 200;
+
+// Follows the X-Next-Cursor header of keyset-paginated lists and returns all pages in one response
+const getAllPages = async (url, params = {}) => {
+    const items = [];
+    let cursor;
+    let response;
+    do {
+        response = await apiClient.get(url, { params: { ...params, limit: PAGE_SIZE, cursor } });
+        items.push(...response.data);
+        cursor = response.headers['x-next-cursor'];
+    } while (cursor);
+    return { ...response, data: items };
+};
+
 // Car Endpoints
-export const getAllCars = () => apiClient.get('/cars');
+export const getAllCars = () => getAllPages('/cars');
 export const getCarById = (id) => apiClient.get(`/cars/${id}`);
 export const createCar = (carData) => apiClient.post('/cars', carData);
 export const createCarsBulk = (carsData) => apiClient.post('/cars/bulk', carsData);
 export const updateCar = (id, carData) => apiClient.put(`/cars/${id}`, carData);
 export const deleteCar = (id) => apiClient.delete(`/cars/${id}`);
 export const filterCars = (minYear, maxYear, maxMileage) =>
-    apiClient.get('/cars/filter', { params: { minYear, maxYear, maxMileage } });
+    getAllPages('/cars/filter', { minYear, maxYear, maxMileage });
 
 // Dealer Endpoints
-export const getAllDealers = () => apiClient.get('/dealers');
+export const getAllDealers = () => getAllPages('/dealers');
 export const getDealerById = (id) => apiClient.get(`/dealers/${id}`);
 export const createDealer = (dealerData) => apiClient.post('/dealers', dealerData);
 export const updateDealer = (id, dealerData) => apiClient.put(`/dealers/${id}`, dealerData);
@@ -27,18 +42,18 @@ export const getDealersByBrand = (brand) =>
     apiClient.get('/dealers/by-brand', { params: { brand } });
 export const getDealersByBrandNative = (brand) =>
     apiClient.get('/dealers/by-brand-native', { params: { brand } });
-export const getDealerCars = (dealerId) => apiClient.get(`/dealers/${dealerId}/cars`);
+export const getDealerCars = (dealerId) => getAllPages(`/dealers/${dealerId}/cars`);
 
 // Order Endpoints
-export const getAllOrders = () => apiClient.get('/orders');
-export const getOrderById = (id) => apiClient.get(`/orders/${id}`);
+export const getAllOrders = () => getAllPages('/orders', { expand: 'cars' });
+export const getOrderById = (id) => apiClient.get(`/orders/${id}`, { params: { expand: 'cars' } });
 export const createOrder = (orderData) => apiClient.post('/orders', orderData);
 export const updateOrder = (id, orderData) => apiClient.put(`/orders/${id}`, orderData);
 export const deleteOrder = (id) => apiClient.delete(`/orders/${id}`);
 
 // User Endpoints
-export const getAllUsers = () => apiClient.get('/users');
-export const getUserById = (id) => apiClient.get(`/users/${id}`);
+export const getAllUsers = () => getAllPages('/users', { expand: 'favoriteCars,orders' });
+export const getUserById = (id) => apiClient.get(`/users/${id}`, { params: { expand: 'favoriteCars,orders' } });
 export const createUser = (userData) => apiClient.post('/users', userData);
 export const updateUser = (id, userData) => apiClient.put(`/users/${id}`, userData);
 export const deleteUser = (id) => apiClient.delete(`/users/${id}`);